@@ -1,53 +1,147 @@
 package com.admirals;
 
 import com.admirals.managers.Asset_Manager;
+import com.admirals.managers.Asset_Scope;
+import com.admirals.managers.Audio_Manager;
+import com.admirals.managers.DrawQueue_Manager;
+import com.admirals.managers.Effects_Manager;
 import com.admirals.managers.Font_Manager;
+import com.admirals.managers.Redraw_Manager;
 import com.admirals.managers.ScreenScaler_Manager;
+import com.admirals.managers.Transition_Manager;
 import com.admirals.screens.MainMenu_Screen;
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
 /**
  * Main application class.
- * Initializes and manages core systems (assets, scaling, fonts).
+ * Initializes and manages core systems (assets, audio, effects, scaling, fonts, transitions).
  */
 public class Center extends Game {
 
+    // Longest frame time used to step animations, so the first frame after idling does not jump.
+    // Timers get the real frame time, or they would run slow between heartbeat frames.
+    private static final float MAX_DELTA = 0.1f;
+
     public Asset_Manager assetManager;
+    public Audio_Manager audioManager;
+    public Effects_Manager effectsManager;
     public ScreenScaler_Manager screenScalerManager;
     public Font_Manager fontManager;
+    public Transition_Manager transitionManager;
+    public Redraw_Manager redrawManager;
     public SpriteBatch batch;
+    // Texture-sorted submission for busy scenes (flushed into batch)
+    public DrawQueue_Manager drawQueue;
 
     @Override
     public void create() {
         // Initialize core managers
         assetManager = new Asset_Manager();
         screenScalerManager = new ScreenScaler_Manager();
+        // Size the viewport now so managers created below see the real scale
+        screenScalerManager.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         batch = new SpriteBatch();
+        drawQueue = new DrawQueue_Manager();
 
-        // Load assets (synchronous)
+        // Load global assets (synchronous)
         // Assumes "Operator" font is mapped in Asset_Manager
+        // Screen-specific assets are loaded per scope in setScreen()
         assetManager.loadAssets();
 
+        // Audio manager plays sounds and music owned by the asset manager
+        audioManager = new Audio_Manager(assetManager);
+        // Effect pools are built by the screens that use them
+        effectsManager = new Effects_Manager(assetManager);
+
         // Font manager depends on assets and scaler
         fontManager = new Font_Manager(assetManager, screenScalerManager);
+        transitionManager = new Transition_Manager(this, assetManager, screenScalerManager, batch);
+
+        // Only draw frames when something changed (saves CPU/GPU between turns)
+        redrawManager = new Redraw_Manager(screenScalerManager);
+        redrawManager.setOnDemand(true);
 
         // Pass this game instance (containing managers) to the first screen
         setScreen(new MainMenu_Screen(this));
     }
 
+    /**
+     * Switches screens and moves asset scopes with them.
+     * The incoming scope is acquired before the outgoing one is released,
+     * so assets shared by both screens are never unloaded in between.
+     * Live effects belong to the outgoing screen and are returned to their pools;
+     * pools built from the outgoing scope's effects are dropped.
+     * Swaps immediately and cancels a pending transition;
+     * use transitionManager.transitionTo() for a prepared cross-fade.
+     * @param screen The new screen (may be null).
+     */
+    @Override
+    public void setScreen(Screen screen) {
+        Screen previous = getScreen();
+
+        // A transition still preparing must not swap over this screen later
+        transitionManager.cancel(screen);
+
+        // Transition_Manager acquires the scope early while preparing
+        if (screen instanceof Asset_Manager.ScopedScreen) {
+            Asset_Scope scope = ((Asset_Manager.ScopedScreen) screen).getAssetScope();
+            if (!assetManager.isScopeAcquired(scope)) {
+                assetManager.acquireScope(scope);
+            }
+        }
+
+        super.setScreen(screen);
+
+        if (previous != screen) {
+            effectsManager.clear();
+        }
+        if (previous instanceof Asset_Manager.ScopedScreen && previous != screen) {
+            Asset_Scope previousScope = ((Asset_Manager.ScopedScreen) previous).getAssetScope();
+            // Pools share their templates' textures, which the release may unload
+            effectsManager.releasePools(previousScope);
+            assetManager.releaseScope(previousScope);
+        }
+    }
+
     @Override
     public void resize(int width, int height) {
         // Pass resize event to the scaler
         screenScalerManager.resize(width, height);
+        // Regenerate fonts at the new pixel size once resizing stops
+        fontManager.resize(width, height);
         // Pass to current screen
         super.resize(width, height);
     }
 
     @Override
     public void render() {
-        // Delegates render call to the active screen
-        super.render();
+        float realDelta = Gdx.graphics.getDeltaTime();
+        float delta = Math.min(realDelta, MAX_DELTA);
+
+        // Progress background asset loading
+        boolean assetsLoaded = assetManager.update();
+        // Flush this frame's sound requests, switch music once loaded
+        audioManager.update(realDelta);
+        // Apply a settled resize to the fonts
+        fontManager.update(realDelta);
+        // Advance live effects, recycle finished ones
+        effectsManager.update(delta);
+
+        if (transitionManager.isActive()) {
+            // A running transition renders the screens itself
+            transitionManager.render(delta);
+        } else if (screen != null) {
+            // Delegates render call to the active screen.
+            // Screens step animations with delta; countdowns should use Gdx.graphics.getDeltaTime()
+            screen.render(delta);
+        }
+
+        // Request the next frame only if something is still changing
+        redrawManager.endFrame(!assetsLoaded || transitionManager.isActive() || effectsManager.getLiveCount() > 0
+            || fontManager.isRescalePending());
     }
 
     @Override
@@ -56,6 +150,10 @@ public class Center extends Game {
         super.dispose();
 
         // Dispose managers
+        redrawManager.dispose();
+        transitionManager.dispose();
+        audioManager.dispose();
+        effectsManager.dispose();
         fontManager.dispose();
         assetManager.dispose();
         batch.dispose();
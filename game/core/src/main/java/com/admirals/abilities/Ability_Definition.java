@@ -0,0 +1,52 @@
+package com.admirals.abilities;
+
+/**
+ * One ability loaded from the ability data file.
+ */
+public class Ability_Definition {
+
+    /**
+     * What an ability does to the cells it covers.
+     * Resolution applies kinds in declaration order (strikes land before scans read the board).
+     */
+    public enum Kind {
+        /** Fires at every covered cell: ships become hits, water becomes misses. */
+        STRIKE,
+        /** Reveals every covered cell without changing it (sonar). */
+        SCAN
+    }
+
+    private final int index;
+    private final String id;
+    private final Kind kind;
+    private final Ability_Stencil stencil;
+
+    /**
+     * @param index Position in the data file; identifies the ability in volleys and on the network.
+     * @param id The ability's name in the data file (e.g., "sonar_sweep").
+     * @param kind What the ability does.
+     * @param stencil The compiled area pattern.
+     */
+    public Ability_Definition(int index, String id, Kind kind, Ability_Stencil stencil) {
+        this.index = index;
+        this.id = id;
+        this.kind = kind;
+        this.stencil = stencil;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Ability_Stencil getStencil() {
+        return stencil;
+    }
+}
@@ -0,0 +1,357 @@
+package com.admirals.abilities;
+
+import com.admirals.board.Board_Model;
+import com.admirals.board.Cell_State;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Loads ship abilities from a data file and resolves volleys against a board.
+ * Each ability's area pattern is compiled once into an Ability_Stencil.
+ * A volley is resolved as one batch: every stencil row is clipped to the board and
+ * split into 64-cell words keyed by (kind, row, word). The keys are sorted and words
+ * with the same key are OR-ed (a cell covered twice is resolved once), so the set bits
+ * come out in row-major order, strikes before scans. Cost follows the stencils' area,
+ * not the distance between shots. Resolution uses no floating point and no hash
+ * ordering, so every peer gets the same board and the same Effect_List.
+ */
+public class Ability_Engine {
+
+    private static final String TAG = "Ability_Engine";
+
+    public static final String DEFAULT_DATA_PATH = "data/abilities.json";
+
+    private static final Ability_Definition.Kind[] KINDS = Ability_Definition.Kind.values();
+
+    // Bits of a sort key above the (kind, row, word) fields, keeping it non-negative
+    private static final int KEY_BITS = 63;
+    private static final int KIND_BITS = 32 - Integer.numberOfLeadingZeros(KINDS.length - 1);
+
+    // One slot per data file entry, in file order (the index is the network identifier);
+    // null where the entry was rejected
+    private final Array<Ability_Definition> abilities;
+    private final HashMap<String, Ability_Definition> abilitiesById;
+
+    // Reused volley words: sort keys ((kind, row, word) above the entry index) and word bits by entry index
+    private final LongArray volleyKeys;
+    private final LongArray volleyBits;
+
+    public Ability_Engine() {
+        abilities = new Array<Ability_Definition>();
+        abilitiesById = new HashMap<String, Ability_Definition>();
+        volleyKeys = new LongArray(false, 64);
+        volleyBits = new LongArray(false, 64);
+    }
+
+    /**
+     * Loads ability definitions, replacing any loaded before.
+     * Entries with errors are logged and leave an empty slot, so every other
+     * ability keeps its position in the file as its index.
+     * Expected format:
+     * <pre>
+     * { "abilities": [ { "id": "area_bombardment", "kind": "strike",
+     *                    "pattern": [".X.", "XXX", ".X."], "anchor": [1, 1] } ] }
+     * </pre>
+     * "anchor" (column, row from the top) is optional and defaults to the pattern's center.
+     * @param file The data file (e.g., Gdx.files.internal(DEFAULT_DATA_PATH)).
+     */
+    public void load(FileHandle file) {
+        abilities.clear();
+        abilitiesById.clear();
+
+        JsonValue root;
+        try {
+            root = new JsonReader().parse(file);
+        } catch (SerializationException e) {
+            Gdx.app.error(TAG, "Failed to parse ability data: " + file.path(), e);
+            return;
+        }
+
+        JsonValue list = root.get("abilities");
+        if (list == null) {
+            Gdx.app.error(TAG, "No 'abilities' array in: " + file.path());
+            return;
+        }
+
+        int loaded = 0;
+        for (JsonValue entry = list.child; entry != null; entry = entry.next) {
+            // Rejected entries keep their slot (null); errors are logged in parseAbility
+            Ability_Definition ability = parseAbility(entry, abilities.size);
+            abilities.add(ability);
+            if (ability != null) {
+                abilitiesById.put(ability.getId(), ability);
+                loaded++;
+            }
+        }
+        Gdx.app.log(TAG, "Loaded " + loaded + " of " + abilities.size + " abilities from " + file.path());
+    }
+
+    private Ability_Definition parseAbility(JsonValue entry, int index) {
+        String id = entry.getString("id", null);
+        if (id == null) {
+            Gdx.app.error(TAG, "Ability without id at position " + index);
+            return null;
+        }
+
+        Ability_Definition.Kind kind = null;
+        String kindName = entry.getString("kind", "");
+        for (Ability_Definition.Kind candidate : KINDS) {
+            if (candidate.name().equalsIgnoreCase(kindName)) {
+                kind = candidate;
+            }
+        }
+        if (kind == null) {
+            Gdx.app.error(TAG, "Unknown kind '" + kindName + "' for ability: " + id);
+            return null;
+        }
+
+        JsonValue patternValue = entry.get("pattern");
+        if (patternValue == null || !patternValue.isArray()) {
+            Gdx.app.error(TAG, "No pattern array for ability: " + id);
+            return null;
+        }
+        for (JsonValue row = patternValue.child; row != null; row = row.next) {
+            if (!row.isString()) {
+                Gdx.app.error(TAG, "Pattern rows must be strings for ability: " + id);
+                return null;
+            }
+        }
+        String[] pattern = patternValue.asStringArray();
+
+        int anchorX;
+        int anchorY;
+        JsonValue anchorValue = entry.get("anchor");
+        if (anchorValue != null) {
+            if (!anchorValue.isArray() || anchorValue.size != 2
+                || !anchorValue.child.isNumber() || !anchorValue.child.next.isNumber()) {
+                Gdx.app.error(TAG, "Anchor must be [column, row] for ability: " + id);
+                return null;
+            }
+            anchorX = anchorValue.child.asInt();
+            anchorY = anchorValue.child.next.asInt();
+        } else {
+            int width = 0;
+            for (String row : pattern) {
+                width = Math.max(width, row.length());
+            }
+            anchorX = width / 2;
+            anchorY = pattern.length / 2;
+        }
+
+        try {
+            return new Ability_Definition(index, id, kind, new Ability_Stencil(pattern, anchorX, anchorY));
+        } catch (IllegalArgumentException e) {
+            Gdx.app.error(TAG, "Invalid pattern for ability " + id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param id The ability id from the data file.
+     * @return The ability, or null if not loaded.
+     */
+    public Ability_Definition getAbility(String id) {
+        Ability_Definition ability = abilitiesById.get(id);
+        if (ability == null) {
+            Gdx.app.error(TAG, "Unknown ability: " + id);
+        }
+        return ability;
+    }
+
+    /**
+     * @param index The ability index (as sent in volleys).
+     * @return The ability, or null if the index is out of range or its entry was rejected.
+     */
+    public Ability_Definition getAbility(int index) {
+        if (index < 0 || index >= abilities.size) {
+            Gdx.app.error(TAG, "Ability index out of range: " + index);
+            return null;
+        }
+        Ability_Definition ability = abilities.get(index);
+        if (ability == null) {
+            Gdx.app.error(TAG, "Ability index was rejected when loading: " + index);
+        }
+        return ability;
+    }
+
+    /**
+     * Resolves a whole volley against a board and records what happened.
+     * Strikes are applied first, then scans report the resulting states.
+     * Cells outside the board and cells a strike does not change are left out of the effects.
+     * @param board The board to apply the volley to.
+     * @param volley The fired abilities.
+     * @param effects Receives one entry per affected cell (not cleared first).
+     */
+    public void resolveVolley(Board_Model board, Ability_Volley volley, Effect_List effects) {
+        int columns = board.getColumns();
+        int rows = board.getRows();
+        if (volley.size() == 0 || columns <= 0 || rows <= 0) {
+            return;
+        }
+
+        // Key layout, high to low: kind, row, word, entry index
+        int wordBits = 32 - Integer.numberOfLeadingZeros((columns - 1) >> 6);
+        int rowBits = 32 - Integer.numberOfLeadingZeros(rows - 1);
+        int indexBits = KEY_BITS - KIND_BITS - rowBits - wordBits;
+        int rowShift = wordBits + indexBits;
+        int kindShift = rowBits + rowShift;
+
+        volleyKeys.clear();
+        volleyBits.clear();
+        for (int i = 0; i < volley.size(); i++) {
+            Ability_Definition ability = getAbility(volley.getAbilityIndex(i));
+            if (ability == null) {
+                continue;
+            }
+            Ability_Stencil stencil = ability.getStencil();
+            long kindKey = (long) ability.getKind().ordinal() << kindShift;
+            int left = volley.getColumn(i) - stencil.getAnchorX();
+            int bottom = volley.getRow(i) - stencil.getAnchorY();
+            if (left <= -Ability_Stencil.MAX_WIDTH || left >= columns) {
+                continue; // Entire placement is off the board
+            }
+
+            // Clip to the board: rows outside it and columns left of it are dropped here,
+            // columns right of it are skipped in apply()
+            int firstRow = Math.max(bottom, 0);
+            int lastRow = Math.min(bottom + stencil.getHeight() - 1, rows - 1);
+            int start = Math.max(left, 0);
+            int word = start >> 6;
+            int shift = start & 63;
+            boolean spills = shift != 0 && word + 1 <= (columns - 1) >> 6;
+            for (int boardRow = firstRow; boardRow <= lastRow; boardRow++) {
+                long bits = stencil.getRowMask(boardRow - bottom) >>> (start - left);
+                if (bits == 0L) {
+                    continue;
+                }
+                long rowKey = kindKey | ((long) boardRow << rowShift);
+                if (!addWord(rowKey | ((long) word << indexBits), bits << shift, indexBits)) {
+                    return;
+                }
+                if (spills && !addWord(rowKey | ((long) (word + 1) << indexBits), bits >>> (64 - shift), indexBits)) {
+                    return;
+                }
+            }
+        }
+
+        Arrays.sort(volleyKeys.items, 0, volleyKeys.size);
+        apply(board, columns, rowBits, wordBits, indexBits, effects);
+    }
+
+    /**
+     * Queues one volley word. The entry index goes in the low key bits, so sorting
+     * the keys alone orders the words and still finds their bits.
+     * @return False (and logs) if the volley has more words than the key can index.
+     */
+    private boolean addWord(long key, long bits, int indexBits) {
+        if (bits == 0L) {
+            return true;
+        }
+        if (indexBits <= 0 || volleyBits.size >= 1L << indexBits) {
+            Gdx.app.error(TAG, "Volley too large to resolve: more than " + volleyBits.size + " stencil words");
+            return false;
+        }
+        volleyKeys.add(key | volleyBits.size);
+        volleyBits.add(bits);
+        return true;
+    }
+
+    /**
+     * Applies the sorted volley words to the board: kinds in declaration order,
+     * then rows and columns ascending. Words with the same key are OR-ed first.
+     */
+    private void apply(Board_Model board, int columns, int rowBits, int wordBits, int indexBits, Effect_List effects) {
+        long indexMask = (1L << indexBits) - 1;
+        long wordMask = (1L << wordBits) - 1;
+        long rowMask = (1L << rowBits) - 1;
+        long[] keys = volleyKeys.items;
+        int i = 0;
+        while (i < volleyKeys.size) {
+            long cellKey = keys[i] >>> indexBits;
+            long bits = 0L;
+            for (; i < volleyKeys.size && keys[i] >>> indexBits == cellKey; i++) {
+                bits |= volleyBits.get((int) (keys[i] & indexMask));
+            }
+
+            int word = (int) (cellKey & wordMask);
+            int row = (int) ((cellKey >>> wordBits) & rowMask);
+            Ability_Definition.Kind kind = KINDS[(int) (cellKey >>> (wordBits + rowBits))];
+            while (bits != 0L) {
+                int column = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1; // Clear lowest set bit
+                if (column >= columns) {
+                    break;
+                }
+                applyCell(board, kind, column, row, effects);
+            }
+        }
+    }
+
+    private void applyCell(Board_Model board, Ability_Definition.Kind kind, int column, int row, Effect_List effects) {
+        int state = board.getCell(column, row);
+        switch (kind) {
+            case STRIKE:
+                int result;
+                if (state == Cell_State.SHIP) {
+                    result = Cell_State.HIT;
+                } else if (state == Cell_State.WATER || state == Cell_State.FOG) {
+                    result = Cell_State.MISS;
+                } else {
+                    return; // Already shot, nothing changes
+                }
+                board.setCell(column, row, result);
+                effects.add(column, row, kind, result);
+                break;
+            case SCAN:
+                effects.add(column, row, kind, state);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Applies effects received from a peer (or read from a replay) to a board,
+     * without resolving the volley again. Scans do not change the board.
+     * A strike can only leave HIT or MISS; the whole list is checked first and
+     * applied only if every strike does.
+     * @param board The board to update.
+     * @param effects The effect list.
+     * @return False if a strike entry has another state (the board is unchanged).
+     */
+    public boolean applyEffects(Board_Model board, Effect_List effects) {
+        for (int i = 0; i < effects.size(); i++) {
+            if (effects.getKind(i) != Ability_Definition.Kind.STRIKE) {
+                continue;
+            }
+            int state = effects.getState(i);
+            if (state != Cell_State.HIT && state != Cell_State.MISS) {
+                Gdx.app.error(TAG, "Invalid strike state " + state + " at "
+                    + effects.getColumn(i) + ", " + effects.getRow(i));
+                return false;
+            }
+        }
+
+        for (int i = 0; i < effects.size(); i++) {
+            if (effects.getKind(i) == Ability_Definition.Kind.STRIKE) {
+                board.setCell(effects.getColumn(i), effects.getRow(i), effects.getState(i));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of ability slots (data file entries), including rejected ones.
+     */
+    public int getAbilityCount() {
+        return abilities.size;
+    }
+}
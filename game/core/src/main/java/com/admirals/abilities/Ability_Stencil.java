@@ -0,0 +1,96 @@
+package com.admirals.abilities;
+
+/**
+ * Area pattern of an ability, compiled to one bitmask per row.
+ * Bit i of a row is set when the cell i columns right of the pattern's left edge is affected.
+ * Row 0 is the bottom row (board rows grow upward). Patterns are at most 64 cells wide.
+ */
+public class Ability_Stencil {
+
+    public static final int MAX_WIDTH = 64;
+
+    private final int width;
+    private final int height;
+    // Offset of the aimed cell from the pattern's bottom-left corner
+    private final int anchorX;
+    private final int anchorY;
+    private final long[] rowMasks;
+    private final int cellCount;
+
+    /**
+     * Compiles a text pattern.
+     * @param pattern Rows from top to bottom; 'X' marks an affected cell, any other character is empty.
+     * @param anchorX Column of the aimed cell, counted from the left.
+     * @param anchorY Row of the aimed cell, counted from the top (as written).
+     * @throws IllegalArgumentException If the pattern is empty, wider than MAX_WIDTH, or the anchor lies outside it.
+     */
+    public Ability_Stencil(String[] pattern, int anchorX, int anchorY) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Pattern has no rows.");
+        }
+        int maxWidth = 0;
+        for (String row : pattern) {
+            maxWidth = Math.max(maxWidth, row.length());
+        }
+        if (maxWidth == 0 || maxWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Pattern width must be between 1 and " + MAX_WIDTH + ": " + maxWidth);
+        }
+        if (anchorX < 0 || anchorX >= maxWidth || anchorY < 0 || anchorY >= pattern.length) {
+            throw new IllegalArgumentException("Anchor outside the pattern: " + anchorX + ", " + anchorY);
+        }
+
+        this.width = maxWidth;
+        this.height = pattern.length;
+        this.anchorX = anchorX;
+        this.anchorY = height - 1 - anchorY; // Flip to bottom-up
+        this.rowMasks = new long[height];
+
+        int cells = 0;
+        for (int i = 0; i < height; i++) {
+            String row = pattern[i];
+            long mask = 0L;
+            for (int col = 0; col < row.length(); col++) {
+                if (row.charAt(col) == 'X') {
+                    mask |= 1L << col;
+                    cells++;
+                }
+            }
+            rowMasks[height - 1 - i] = mask;
+        }
+        this.cellCount = cells;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getAnchorX() {
+        return anchorX;
+    }
+
+    /**
+     * @return Row of the aimed cell, counted from the bottom.
+     */
+    public int getAnchorY() {
+        return anchorY;
+    }
+
+    /**
+     * @param row Row counted from the bottom (0 to height - 1).
+     * @return The bitmask of affected columns in that row.
+     */
+    public long getRowMask(int row) {
+        return rowMasks[row];
+    }
+
+    /**
+     * @return Number of cells the pattern affects.
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+}
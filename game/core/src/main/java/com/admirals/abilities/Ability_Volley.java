@@ -0,0 +1,78 @@
+package com.admirals.abilities;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The abilities fired in one turn, each aimed at a cell.
+ * Stored as (ability index, column, row) triples so it can be sent as-is.
+ */
+public class Ability_Volley {
+
+    private final IntArray entries;
+
+    public Ability_Volley() {
+        entries = new IntArray(true, 3 * 16);
+    }
+
+    /**
+     * @param abilityIndex Ability_Definition.getIndex() of the fired ability.
+     * @param column The aimed column.
+     * @param row The aimed row.
+     */
+    public void add(int abilityIndex, int column, int row) {
+        entries.add(abilityIndex, column, row);
+    }
+
+    /**
+     * @return Number of fired abilities.
+     */
+    public int size() {
+        return entries.size / 3;
+    }
+
+    public int getAbilityIndex(int i) {
+        return entries.get(i * 3);
+    }
+
+    public int getColumn(int i) {
+        return entries.get(i * 3 + 1);
+    }
+
+    public int getRow(int i) {
+        return entries.get(i * 3 + 2);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @param out The stream to write to.
+     * @throws IOException If the stream fails.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeShort(size());
+        for (int i = 0; i < entries.size; i += 3) {
+            out.writeShort(entries.get(i));
+            out.writeInt(entries.get(i + 1));
+            out.writeInt(entries.get(i + 2));
+        }
+    }
+
+    /**
+     * Replaces the contents with a volley written by write().
+     * @param in The stream to read from.
+     * @throws IOException If the stream fails.
+     */
+    public void read(DataInputStream in) throws IOException {
+        clear();
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            add(in.readUnsignedShort(), in.readInt(), in.readInt());
+        }
+    }
+}
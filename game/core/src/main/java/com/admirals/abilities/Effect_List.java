@@ -0,0 +1,109 @@
+package com.admirals.abilities;
+
+import com.admirals.board.Cell_State;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Result of resolving a volley: one packed entry per affected cell, in resolution order.
+ * Each entry is a long holding the row, column, ability kind and resulting cell state,
+ * so the list can be sent over the network or stored in a replay without conversion.
+ */
+public class Effect_List {
+
+    // Entry layout: row (28 bits) | column (28 bits) | kind (4 bits) | state (4 bits)
+    private static final int STATE_BITS = 4;
+    private static final int KIND_BITS = 4;
+    private static final int COLUMN_BITS = 28;
+    private static final long FIELD4_MASK = 0xFL;
+    private static final long FIELD28_MASK = (1L << COLUMN_BITS) - 1;
+    private static final Ability_Definition.Kind[] KINDS = Ability_Definition.Kind.values();
+    // Upper bound on entries accepted by read() (a full 1024x1024 board)
+    public static final int MAX_ENTRIES = 1 << 20;
+
+    private final LongArray entries;
+
+    public Effect_List() {
+        entries = new LongArray(true, 64);
+    }
+
+    /**
+     * @param column The affected column.
+     * @param row The affected row.
+     * @param kind The kind of ability that affected the cell.
+     * @param state The Cell_State after the effect (for scans, the revealed state).
+     */
+    public void add(int column, int row, Ability_Definition.Kind kind, int state) {
+        entries.add(((long) row << (COLUMN_BITS + KIND_BITS + STATE_BITS))
+            | ((long) column << (KIND_BITS + STATE_BITS))
+            | ((long) kind.ordinal() << STATE_BITS)
+            | state);
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public int getColumn(int i) {
+        return (int) ((entries.get(i) >>> (KIND_BITS + STATE_BITS)) & FIELD28_MASK);
+    }
+
+    public int getRow(int i) {
+        return (int) ((entries.get(i) >>> (COLUMN_BITS + KIND_BITS + STATE_BITS)) & FIELD28_MASK);
+    }
+
+    public Ability_Definition.Kind getKind(int i) {
+        return KINDS[(int) ((entries.get(i) >>> STATE_BITS) & FIELD4_MASK)];
+    }
+
+    public int getState(int i) {
+        return (int) (entries.get(i) & FIELD4_MASK);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @param out The stream to write to.
+     * @throws IOException If the stream fails.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(entries.size);
+        for (int i = 0; i < entries.size; i++) {
+            out.writeLong(entries.get(i));
+        }
+    }
+
+    /**
+     * Replaces the contents with a list written by write().
+     * The data comes from a peer, so every entry is checked; on an exception the list is left empty.
+     * @param in The stream to read from.
+     * @throws IOException If the stream fails, the count is out of range,
+     *                     or an entry has an unknown kind or invalid state.
+     */
+    public void read(DataInputStream in) throws IOException {
+        entries.clear();
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ENTRIES) {
+            throw new IOException("Invalid effect count: " + count);
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                long entry = in.readLong();
+                int kind = (int) ((entry >>> STATE_BITS) & FIELD4_MASK);
+                int state = (int) (entry & FIELD4_MASK);
+                if (kind >= KINDS.length || !Cell_State.isValid(state)) {
+                    throw new IOException("Invalid effect entry " + i + ": kind " + kind + ", state " + state);
+                }
+                entries.add(entry);
+            }
+        } catch (IOException e) {
+            entries.clear();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.admirals.board;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Cell states of one board, stored sparsely.
+ * The board is split into fixed-size square chunks that are only created on the
+ * first write of a non-water state, so untouched water costs no memory and memory
+ * grows with ships and shots rather than board area. Each chunk packs its cells
+ * into 4-bit fields.
+ * <p>
+ * Every write stamps its chunk with the board's version, so consumers (renderer,
+ * network deltas, serialization) can iterate only the chunks changed since they last looked.
+ * A Zobrist hash of all cells is kept up to date with every write (O(1) per cell).
+ */
+public class Board_Model {
+
+    /** Chunk side length in cells. */
+    public static final int CHUNK_SIZE = 32;
+    private static final int CHUNK_SHIFT = 5; // log2(CHUNK_SIZE)
+    private static final int BITS_PER_CELL = 4;
+    private static final int CELLS_PER_WORD = 64 / BITS_PER_CELL;
+    private static final int WORDS_PER_CHUNK = CHUNK_SIZE * CHUNK_SIZE / CELLS_PER_WORD;
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+    private static final String TAG = "Board_Model";
+
+    /**
+     * A CHUNK_SIZE x CHUNK_SIZE tile of cells. Read-only outside Board_Model.
+     */
+    public static final class Chunk {
+        private final int chunkX;
+        private final int chunkY;
+        private final long[] bits;
+        private int version;
+
+        private Chunk(int chunkX, int chunkY) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.bits = new long[WORDS_PER_CHUNK];
+        }
+
+        /**
+         * @return The chunk column (multiply by CHUNK_SIZE for the first cell column).
+         */
+        public int getChunkX() {
+            return chunkX;
+        }
+
+        /**
+         * @return The chunk row (multiply by CHUNK_SIZE for the first cell row).
+         */
+        public int getChunkY() {
+            return chunkY;
+        }
+
+        /**
+         * @return The board version of the last write to this chunk.
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * @param localX Column inside the chunk (0 to CHUNK_SIZE - 1).
+         * @param localY Row inside the chunk (0 to CHUNK_SIZE - 1).
+         * @return The Cell_State value.
+         */
+        public int getCell(int localX, int localY) {
+            int index = (localY << CHUNK_SHIFT) + localX;
+            return (int) ((bits[index / CELLS_PER_WORD] >>> ((index % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK);
+        }
+
+        private void setCell(int localX, int localY, int state) {
+            int index = (localY << CHUNK_SHIFT) + localX;
+            int word = index / CELLS_PER_WORD;
+            int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+            bits[word] = (bits[word] & ~(CELL_MASK << shift)) | ((long) state << shift);
+        }
+    }
+
+    /**
+     * Chunks read and validated by readDelta(), not applied to any board yet.
+     * Lets a caller validate several payloads before changing anything.
+     */
+    public static final class Delta {
+        // chunkX, chunkY per chunk
+        private final IntArray coordinates = new IntArray();
+        // WORDS_PER_CHUNK packed words per chunk
+        private final LongArray words = new LongArray();
+
+        /**
+         * @return Number of chunks in the delta.
+         */
+        public int getChunkCount() {
+            return coordinates.size / 2;
+        }
+    }
+
+    private final int columns;
+    private final int rows;
+    private final int chunkColumns;
+    private final int chunkRows;
+
+    // Chunks by (chunkY * chunkColumns + chunkX), and in creation order for iteration
+    private final IntMap<Chunk> chunkMap;
+    private final Array<Chunk> chunks;
+    private int version;
+    // XOR of Zobrist.cellKey() over all non-water cells
+    private long hash;
+
+    /**
+     * Creates an all-water board. No chunk memory is allocated until the first write.
+     * @param columns Number of columns.
+     * @param rows Number of rows.
+     */
+    public Board_Model(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.chunkColumns = (columns + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunkRows = (rows + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunkMap = new IntMap<Chunk>();
+        this.chunks = new Array<Chunk>(false, 16);
+    }
+
+    /**
+     * @param column The column (0 is left).
+     * @param row The row (0 is bottom).
+     * @return The Cell_State value (WATER for untouched or out-of-bounds cells).
+     */
+    public int getCell(int column, int row) {
+        if (!isInside(column, row)) {
+            return Cell_State.WATER;
+        }
+        Chunk chunk = chunkMap.get(chunkKey(column >> CHUNK_SHIFT, row >> CHUNK_SHIFT));
+        if (chunk == null) {
+            return Cell_State.WATER;
+        }
+        return chunk.getCell(column & (CHUNK_SIZE - 1), row & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Sets a cell. Writing WATER into an untouched chunk allocates nothing.
+     * @param column The column (0 is left).
+     * @param row The row (0 is bottom).
+     * @param state A Cell_State value.
+     * @return True if the cell changed.
+     */
+    public boolean setCell(int column, int row, int state) {
+        if (!isInside(column, row)) {
+            Gdx.app.error(TAG, "Cell out of bounds: " + column + ", " + row);
+            return false;
+        }
+        if (!Cell_State.isValid(state)) {
+            Gdx.app.error(TAG, "Invalid cell state: " + state);
+            return false;
+        }
+
+        int chunkX = column >> CHUNK_SHIFT;
+        int chunkY = row >> CHUNK_SHIFT;
+        Chunk chunk = chunkMap.get(chunkKey(chunkX, chunkY));
+        if (chunk == null) {
+            if (state == Cell_State.WATER) {
+                return false;
+            }
+            chunk = createChunk(chunkX, chunkY);
+        }
+
+        int localX = column & (CHUNK_SIZE - 1);
+        int localY = row & (CHUNK_SIZE - 1);
+        int oldState = chunk.getCell(localX, localY);
+        if (oldState == state) {
+            return false;
+        }
+        hash ^= Zobrist.cellKey(column, row, oldState) ^ Zobrist.cellKey(column, row, state);
+        chunk.setCell(localX, localY, state);
+        chunk.version = ++version;
+        return true;
+    }
+
+    // Re-keys the cells of one packed word whose states changed
+    private void updateHash(Chunk chunk, int word, long oldBits, long newBits) {
+        long changed = oldBits ^ newBits;
+        if (changed == 0L) {
+            return;
+        }
+        for (int cell = 0; cell < CELLS_PER_WORD; cell++) {
+            int shift = cell * BITS_PER_CELL;
+            if (((changed >>> shift) & CELL_MASK) == 0L) {
+                continue;
+            }
+            int index = word * CELLS_PER_WORD + cell;
+            int column = (chunk.chunkX << CHUNK_SHIFT) + (index & (CHUNK_SIZE - 1));
+            int row = (chunk.chunkY << CHUNK_SHIFT) + (index >> CHUNK_SHIFT);
+            hash ^= Zobrist.cellKey(column, row, (int) ((oldBits >>> shift) & CELL_MASK))
+                ^ Zobrist.cellKey(column, row, (int) ((newBits >>> shift) & CELL_MASK));
+        }
+    }
+
+    private Chunk createChunk(int chunkX, int chunkY) {
+        Chunk chunk = new Chunk(chunkX, chunkY);
+        chunkMap.put(chunkKey(chunkX, chunkY), chunk);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    private int chunkKey(int chunkX, int chunkY) {
+        return chunkY * chunkColumns + chunkX;
+    }
+
+    /**
+     * @param column The column.
+     * @param row The row.
+     * @return True if the cell is on the board.
+     */
+    public boolean isInside(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * Iterate with an index loop; do not modify the returned array.
+     * @return All chunks that were ever written, in creation order.
+     */
+    public Array<Chunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Collects the chunks written after a given version.
+     * Consumers remember getVersion() after each call and pass it next time.
+     * @param sinceVersion The version the consumer last saw (0 for everything).
+     * @param out Receives the changed chunks (not cleared first).
+     */
+    public void collectChangedChunks(int sinceVersion, Array<Chunk> out) {
+        for (int i = 0; i < chunks.size; i++) {
+            Chunk chunk = chunks.get(i);
+            if (chunk.version > sinceVersion) {
+                out.add(chunk);
+            }
+        }
+    }
+
+    /**
+     * Resets every cell to WATER. Chunks are kept (and reported as changed) so
+     * consumers tracking versions see the reset.
+     */
+    public void clear() {
+        for (int i = 0; i < chunks.size; i++) {
+            Chunk chunk = chunks.get(i);
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                chunk.bits[word] = 0L;
+            }
+            chunk.version = ++version;
+        }
+        hash = 0L;
+    }
+
+    /**
+     * @return Zobrist hash of all cells (0 for an all-water board).
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return Incremented on every cell change.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Approximate bytes held by cell storage (grows with touched chunks only).
+     */
+    public long getStorageBytes() {
+        return (long) chunks.size * WORDS_PER_CHUNK * 8L;
+    }
+
+    /**
+     * Writes the chunks changed after a version (a network delta, or the full board with 0).
+     * Format: chunk count, then per chunk its coordinates and packed cells.
+     * @param out The stream to write to.
+     * @param sinceVersion The version the receiver already has (0 for the full board).
+     * @throws IOException If the stream fails.
+     */
+    public void writeChunks(DataOutputStream out, int sinceVersion) throws IOException {
+        int count = 0;
+        for (int i = 0; i < chunks.size; i++) {
+            if (chunks.get(i).version > sinceVersion) {
+                count++;
+            }
+        }
+
+        out.writeInt(count);
+        for (int i = 0; i < chunks.size; i++) {
+            Chunk chunk = chunks.get(i);
+            if (chunk.version <= sinceVersion) {
+                continue;
+            }
+            out.writeInt(chunk.chunkX);
+            out.writeInt(chunk.chunkY);
+            for (long word : chunk.bits) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    /**
+     * Applies chunks written by writeChunks(), replacing their contents.
+     * The whole payload is validated first; on an exception the board is unchanged.
+     * @param in The stream to read from.
+     * @throws IOException If the stream fails or holds invalid chunks (see readDelta()).
+     */
+    public void readChunks(DataInputStream in) throws IOException {
+        applyDelta(readDelta(in));
+    }
+
+    /**
+     * Reads chunks written by writeChunks() without applying them.
+     * @param in The stream to read from.
+     * @return The validated chunks.
+     * @throws IOException If the stream fails, or holds chunks outside this board,
+     *                     invalid cell states, or non-water cells past the board's edge.
+     */
+    public Delta readDelta(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > chunkColumns * chunkRows) {
+            throw new IOException("Invalid chunk count: " + count);
+        }
+
+        // Grow with the data actually read, not the count the peer claims
+        Delta delta = new Delta();
+        for (int i = 0; i < count; i++) {
+            int chunkX = in.readInt();
+            int chunkY = in.readInt();
+            if (chunkX < 0 || chunkX >= chunkColumns || chunkY < 0 || chunkY >= chunkRows) {
+                throw new IOException("Chunk out of bounds: " + chunkX + ", " + chunkY);
+            }
+            delta.coordinates.add(chunkX, chunkY);
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                long bits = in.readLong();
+                validateWord(chunkX, chunkY, word, bits);
+                delta.words.add(bits);
+            }
+        }
+        return delta;
+    }
+
+    private void validateWord(int chunkX, int chunkY, int word, long bits) throws IOException {
+        for (int cell = 0; bits != 0L; cell++, bits >>>= BITS_PER_CELL) {
+            int state = (int) (bits & CELL_MASK);
+            if (state == Cell_State.WATER) {
+                continue;
+            }
+            int index = word * CELLS_PER_WORD + cell;
+            int column = (chunkX << CHUNK_SHIFT) + (index & (CHUNK_SIZE - 1));
+            int row = (chunkY << CHUNK_SHIFT) + (index >> CHUNK_SHIFT);
+            if (!Cell_State.isValid(state)) {
+                throw new IOException("Invalid cell state " + state + " at " + column + ", " + row);
+            }
+            if (!isInside(column, row)) {
+                throw new IOException("Non-water cell outside the board at " + column + ", " + row);
+            }
+        }
+    }
+
+    /**
+     * Applies chunks from readDelta(), replacing their contents.
+     * @param delta A delta read for a board of this size.
+     */
+    public void applyDelta(Delta delta) {
+        for (int i = 0; i < delta.getChunkCount(); i++) {
+            int chunkX = delta.coordinates.get(i * 2);
+            int chunkY = delta.coordinates.get(i * 2 + 1);
+            Chunk chunk = chunkMap.get(chunkKey(chunkX, chunkY));
+            if (chunk == null) {
+                chunk = createChunk(chunkX, chunkY);
+            }
+            int offset = i * WORDS_PER_CHUNK;
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                long newBits = delta.words.get(offset + word);
+                updateHash(chunk, word, chunk.bits[word], newBits);
+                chunk.bits[word] = newBits;
+            }
+            chunk.version = ++version;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.admirals.board;
+
+/**
+ * State values of a single board cell.
+ * Stored as small integers so they can be packed into bit fields and
+ * uploaded as one byte per cell to the grid state texture.
+ */
+public final class Cell_State {
+
+    public static final byte WATER = 0;
+    public static final byte MISS = 1;
+    public static final byte HIT = 2;
+    public static final byte SHIP = 3;
+    public static final byte FOG = 4;
+
+    /** Number of defined states (valid values are 0 to COUNT - 1). */
+    public static final int COUNT = 5;
+
+    private Cell_State() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param state A state value.
+     * @return True if the value is one of the defined states.
+     */
+    public static boolean isValid(int state) {
+        return state >= 0 && state < COUNT;
+    }
+}
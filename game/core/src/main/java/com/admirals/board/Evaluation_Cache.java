@@ -0,0 +1,74 @@
+package com.admirals.board;
+
+/**
+ * Fixed-size cache of AI evaluations keyed by match hash.
+ * Direct-mapped: each hash has one slot and a newer entry replaces an older one.
+ * Allocates nothing after construction.
+ */
+public class Evaluation_Cache {
+
+    private final long[] keys;
+    private final float[] values;
+    private final boolean[] filled;
+    private final int mask;
+
+    private int hits;
+    private int misses;
+
+    /**
+     * @param sizeBits The cache holds 2^sizeBits entries (e.g., 16 for 65536).
+     */
+    public Evaluation_Cache(int sizeBits) {
+        int size = 1 << sizeBits;
+        keys = new long[size];
+        values = new float[size];
+        filled = new boolean[size];
+        mask = size - 1;
+    }
+
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * @param hash The position's hash (Match_Hash.getHash()).
+     * @param missing Returned when the position is not cached.
+     * @return The cached evaluation, or missing.
+     */
+    public float get(long hash, float missing) {
+        int slot = slot(hash);
+        if (filled[slot] && keys[slot] == hash) {
+            hits++;
+            return values[slot];
+        }
+        misses++;
+        return missing;
+    }
+
+    /**
+     * @param hash The position's hash.
+     * @param value The evaluation to store.
+     */
+    public void put(long hash, float value) {
+        int slot = slot(hash);
+        keys[slot] = hash;
+        values[slot] = value;
+        filled[slot] = true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < filled.length; i++) {
+            filled[i] = false;
+        }
+        hits = 0;
+        misses = 0;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
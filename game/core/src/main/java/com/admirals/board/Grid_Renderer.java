@@ -0,0 +1,333 @@
+package com.admirals.board;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Draws a whole board grid in one draw call.
+ * Cell states live in a one-byte-per-cell texture; a single quad covers the
+ * board and the fragment shader looks up each pixel's cell and colors it.
+ * A shot updates one texel, so CPU cost no longer grows with the board size.
+ * The quad is clipped to the camera's visible area, so only visible cells are shaded.
+ * Draw it outside SpriteBatch begin()/end(), in the board's layer.
+ * <p>
+ * The state texture is one texel per cell, so a board can be at most
+ * GL_MAX_TEXTURE_SIZE cells wide and high (see getMaxBoardSize(); typically 8192
+ * or more on desktop GPUs). Larger boards are rejected rather than tiled.
+ */
+public class Grid_Renderer implements Disposable {
+
+    private static final String TAG = "Grid_Renderer";
+
+    // Above this share of dirty cells, the whole state texture is uploaded at once
+    private static final int FULL_UPLOAD_DIVISOR = 8;
+    // Grid lines are hidden once a cell is smaller than this on screen (pixels)
+    private static final float MIN_LINE_CELL_PIXELS = 6f;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "varying vec2 v_cell;\n"
+        + "void main() {\n"
+        + "    v_cell = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "}\n";
+
+    // Uniform arrays are indexed with constants only (GLSL ES 1.00 fragment shader rule)
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+        + "#ifdef GL_FRAGMENT_PRECISION_HIGH\n"
+        + "precision highp float;\n"
+        + "#else\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "#endif\n"
+        + "varying vec2 v_cell;\n"
+        + "uniform sampler2D u_state;\n"
+        + "uniform vec2 u_gridSize;\n"
+        + "uniform vec4 u_palette[" + Cell_State.COUNT + "];\n"
+        + "uniform vec4 u_lineColor;\n"
+        + "uniform float u_lineWidth;\n"
+        + "void main() {\n"
+        + "    vec2 cell = floor(v_cell);\n"
+        + "    float state = floor(texture2D(u_state, (cell + 0.5) / u_gridSize).a * 255.0 + 0.5);\n"
+        + "    vec4 color = u_palette[0];\n"
+        + "    if (state == 1.0) color = u_palette[1];\n"
+        + "    else if (state == 2.0) color = u_palette[2];\n"
+        + "    else if (state == 3.0) color = u_palette[3];\n"
+        + "    else if (state == 4.0) color = u_palette[4];\n"
+        + "    vec2 inCell = fract(v_cell);\n"
+        + "    float line = max(float(inCell.x < u_lineWidth), float(inCell.y < u_lineWidth));\n"
+        // Cells only draw their left and bottom lines, so the last column and row close the border
+        + "    vec2 border = step(u_gridSize - 1.0, cell) * step(1.0 - u_lineWidth, inCell);\n"
+        + "    line = max(line, max(border.x, border.y));\n"
+        + "    gl_FragColor = mix(color, u_lineColor, line);\n"
+        + "}\n";
+
+    private final int columns;
+    private final int rows;
+    private final float posX;
+    private final float posY;
+    private final float cellSize;
+
+    // One byte per cell; row 0 is the bottom row of the board
+    private final Pixmap statePixmap;
+    private final Texture stateTexture;
+    private final IntArray dirtyCells;
+    private final ByteBuffer texelBuffer;
+
+    private final ShaderProgram shader;
+    private final Mesh mesh;
+    // Position (x, y) and cell coordinate (u, v) per corner
+    private final float[] vertices;
+    private final float[] palette;
+    private final float[] lineColor;
+
+    // Board version already copied by sync(), and scratch list of changed chunks
+    private int syncedVersion;
+    private final Array<Board_Model.Chunk> changedChunks;
+
+    /**
+     * Creates a renderer for a board placed in virtual space. All cells start as WATER.
+     * @param columns Number of columns.
+     * @param rows Number of rows.
+     * @param posX The X position of the board's bottom-left corner in virtual (1920x1080) units.
+     * @param posY The Y position of the board's bottom-left corner in virtual (1920x1080) units.
+     * @param cellSize The size of one cell in virtual units.
+     * @throws GdxRuntimeException If the board is larger than getMaxBoardSize() or the shader fails to compile.
+     */
+    public Grid_Renderer(int columns, int rows, float posX, float posY, float cellSize) {
+        int maxSize = getMaxBoardSize();
+        if (columns <= 0 || rows <= 0 || columns > maxSize || rows > maxSize) {
+            throw new GdxRuntimeException("Board size " + columns + "x" + rows
+                + " is outside 1.." + maxSize + " (GL_MAX_TEXTURE_SIZE)");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.posX = posX;
+        this.posY = posY;
+        this.cellSize = cellSize;
+
+        statePixmap = new Pixmap(columns, rows, Pixmap.Format.Alpha);
+        statePixmap.setBlending(Pixmap.Blending.None);
+        stateTexture = new Texture(statePixmap);
+        stateTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        stateTexture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        dirtyCells = new IntArray(false, 64);
+        texelBuffer = BufferUtils.newByteBuffer(1);
+
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Grid shader failed to compile: " + shader.getLog());
+        }
+
+        mesh = new Mesh(true, 4, 6,
+            new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+        mesh.setIndices(new short[] {0, 1, 2, 2, 3, 0});
+        vertices = new float[16];
+
+        palette = new float[Cell_State.COUNT * 4];
+        setStateColor(Cell_State.WATER, new Color(0.10f, 0.30f, 0.55f, 1f));
+        setStateColor(Cell_State.MISS, new Color(0.75f, 0.85f, 0.95f, 1f));
+        setStateColor(Cell_State.HIT, new Color(0.85f, 0.20f, 0.15f, 1f));
+        setStateColor(Cell_State.SHIP, new Color(0.45f, 0.45f, 0.50f, 1f));
+        setStateColor(Cell_State.FOG, new Color(0.15f, 0.15f, 0.20f, 1f));
+        lineColor = new float[] {0.05f, 0.15f, 0.30f, 1f};
+        changedChunks = new Array<Board_Model.Chunk>(false, 16);
+    }
+
+    /**
+     * @return The largest number of columns or rows a board can have on this GPU.
+     */
+    public static int getMaxBoardSize() {
+        IntBuffer size = BufferUtils.newIntBuffer(16);
+        Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_SIZE, size);
+        return size.get(0);
+    }
+
+    /**
+     * Sets the color a state is drawn with.
+     * @param state A Cell_State value.
+     * @param color The color.
+     */
+    public void setStateColor(int state, Color color) {
+        if (!Cell_State.isValid(state)) {
+            Gdx.app.error(TAG, "Invalid cell state: " + state);
+            return;
+        }
+        palette[state * 4] = color.r;
+        palette[state * 4 + 1] = color.g;
+        palette[state * 4 + 2] = color.b;
+        palette[state * 4 + 3] = color.a;
+    }
+
+    /**
+     * Changes one cell. The texel is uploaded on the next render().
+     * @param column The column (0 is left).
+     * @param row The row (0 is bottom).
+     * @param state A Cell_State value.
+     */
+    public void setCell(int column, int row, int state) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            Gdx.app.error(TAG, "Cell out of bounds: " + column + ", " + row);
+            return;
+        }
+        if (!Cell_State.isValid(state)) {
+            Gdx.app.error(TAG, "Invalid cell state: " + state);
+            return;
+        }
+        int index = row * columns + column;
+        ByteBuffer pixels = statePixmap.getPixels();
+        if (pixels.get(index) == (byte) state) {
+            return;
+        }
+        pixels.put(index, (byte) state);
+        dirtyCells.add(index);
+    }
+
+    /**
+     * Copies the cells of every chunk changed since the last sync.
+     * Only touched chunks are visited, so untouched water costs nothing.
+     * @param board The board model (same size as this renderer).
+     */
+    public void sync(Board_Model board) {
+        if (board.getVersion() == syncedVersion) {
+            return;
+        }
+        changedChunks.clear();
+        board.collectChangedChunks(syncedVersion, changedChunks);
+        syncedVersion = board.getVersion();
+
+        for (int i = 0; i < changedChunks.size; i++) {
+            Board_Model.Chunk chunk = changedChunks.get(i);
+            int baseX = chunk.getChunkX() * Board_Model.CHUNK_SIZE;
+            int baseY = chunk.getChunkY() * Board_Model.CHUNK_SIZE;
+            int endX = Math.min(Board_Model.CHUNK_SIZE, columns - baseX);
+            int endY = Math.min(Board_Model.CHUNK_SIZE, rows - baseY);
+            for (int localY = 0; localY < endY; localY++) {
+                for (int localX = 0; localX < endX; localX++) {
+                    setCell(baseX + localX, baseY + localY, chunk.getCell(localX, localY));
+                }
+            }
+        }
+        changedChunks.clear();
+    }
+
+    /**
+     * Draws the board. Call outside SpriteBatch begin()/end().
+     * @param camera The virtual-space camera (from ScreenScaler_Manager).
+     * @param scale The viewport scale (ScreenScaler_Manager.getScale()), used to fade grid lines.
+     */
+    public void render(OrthographicCamera camera, float scale) {
+        uploadDirtyCells();
+
+        // Clip the board to the visible part of the camera
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        float minX = Math.max(posX, camera.position.x - halfWidth);
+        float minY = Math.max(posY, camera.position.y - halfHeight);
+        float maxX = Math.min(posX + columns * cellSize, camera.position.x + halfWidth);
+        float maxY = Math.min(posY + rows * cellSize, camera.position.y + halfHeight);
+        if (minX >= maxX || minY >= maxY) {
+            return; // Board is off screen
+        }
+        updateQuad(minX, minY, maxX, maxY);
+
+        float cellPixels = cellSize * scale / camera.zoom;
+        float lineWidth = cellPixels >= MIN_LINE_CELL_PIXELS ? 1f / cellPixels : 0f;
+
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        stateTexture.bind(0);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", camera.combined);
+        shader.setUniformi("u_state", 0);
+        shader.setUniformf("u_gridSize", columns, rows);
+        shader.setUniform4fv("u_palette", palette, 0, palette.length);
+        shader.setUniformf("u_lineColor", lineColor[0], lineColor[1], lineColor[2], lineColor[3]);
+        shader.setUniformf("u_lineWidth", lineWidth);
+        mesh.render(shader, GL20.GL_TRIANGLES);
+    }
+
+    // Rewrites the quad only when the visible area changed
+    private void updateQuad(float minX, float minY, float maxX, float maxY) {
+        if (vertices[0] == minX && vertices[1] == minY && vertices[8] == maxX && vertices[9] == maxY) {
+            return;
+        }
+        float u0 = (minX - posX) / cellSize;
+        float v0 = (minY - posY) / cellSize;
+        float u1 = (maxX - posX) / cellSize;
+        float v1 = (maxY - posY) / cellSize;
+
+        setCorner(0, minX, minY, u0, v0);
+        setCorner(1, minX, maxY, u0, v1);
+        setCorner(2, maxX, maxY, u1, v1);
+        setCorner(3, maxX, minY, u1, v0);
+        mesh.setVertices(vertices);
+    }
+
+    private void setCorner(int corner, float x, float y, float u, float v) {
+        int i = corner * 4;
+        vertices[i] = x;
+        vertices[i + 1] = y;
+        vertices[i + 2] = u;
+        vertices[i + 3] = v;
+    }
+
+    // Uploads changed texels one by one, or the whole texture when many changed
+    private void uploadDirtyCells() {
+        if (dirtyCells.size == 0) {
+            return;
+        }
+        if (dirtyCells.size > columns * rows / FULL_UPLOAD_DIVISOR) {
+            stateTexture.draw(statePixmap, 0, 0);
+            dirtyCells.clear();
+            return;
+        }
+
+        stateTexture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        ByteBuffer pixels = statePixmap.getPixels();
+        for (int i = 0; i < dirtyCells.size; i++) {
+            int index = dirtyCells.get(i);
+            texelBuffer.clear();
+            texelBuffer.put(0, pixels.get(index));
+            Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, index % columns, index / columns, 1, 1,
+                GL20.GL_ALPHA, GL20.GL_UNSIGNED_BYTE, texelBuffer);
+        }
+        dirtyCells.clear();
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+        stateTexture.dispose();
+        statePixmap.dispose();
+    }
+}
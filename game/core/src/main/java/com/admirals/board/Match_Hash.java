@@ -0,0 +1,247 @@
+package com.admirals.board;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 64-bit hash of a whole match: every board plus the turn state.
+ * Boards keep their own hash up to date on each cell change, so the match hash
+ * costs O(number of boards) to read and nothing to maintain.
+ * <p>
+ * Desync detection: once per turn each peer sends writeCheck() and passes
+ * the other peer's check to readCheck(). The peers may be up to MAX_TURN_LAG turns
+ * apart while messages are in flight: a check for a turn the local peer already
+ * started is compared with the hash it had at the start of that turn, and a check
+ * for a turn it has not reached yet is kept until setTurn() gets there. On mismatch,
+ * or when the peers are further apart, the DesyncListener is told, and the
+ * authoritative peer (the host) answers with writeState(), which the other applies
+ * with readState().
+ * <p>
+ * The hash is also a key for caching AI evaluations (see Evaluation_Cache).
+ */
+public class Match_Hash {
+
+    /**
+     * Notified when a peer's hash differs from the local one.
+     */
+    public interface DesyncListener {
+        /**
+         * @param turn The turn both hashes belong to (the peer's turn if the peers are
+         *             more than MAX_TURN_LAG turns apart).
+         * @param localHash The local match hash at the start of that turn (the current
+         *                  hash if the peers are too far apart).
+         * @param remoteHash The hash the peer sent.
+         */
+        void onDesync(int turn, long localHash, long remoteHash);
+    }
+
+    private static final String TAG = "Match_Hash";
+
+    /** How many turns apart the peers may be while checks are in flight. */
+    public static final int MAX_TURN_LAG = 1;
+    private static final int HISTORY = MAX_TURN_LAG + 1;
+
+    private final long seed;
+    private final Board_Model[] boards;
+    // Per-board salt, so identical boards in different slots hash differently
+    private final long[] boardSalts;
+
+    private int turn;
+    private int activePlayer;
+    private long turnKey;
+
+    private DesyncListener desyncListener;
+
+    // Local hash at the start of each recent turn, by turn % HISTORY
+    private final int[] startTurns;
+    private final long[] startHashes;
+    // Peer checks for turns not reached yet, by turn % HISTORY
+    private final boolean[] pending;
+    private final int[] pendingTurns;
+    private final long[] pendingHashes;
+
+    /**
+     * @param seed Match seed, agreed on by both peers during the handshake.
+     * @param boards The boards of the match, in an order both peers share (e.g., by player).
+     */
+    public Match_Hash(long seed, Board_Model... boards) {
+        this.seed = seed;
+        this.boards = boards;
+        this.boardSalts = new long[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            boardSalts[i] = Zobrist.key(seed, Zobrist.TAG_BOARD, i);
+        }
+        this.startTurns = new int[HISTORY];
+        this.startHashes = new long[HISTORY];
+        this.pending = new boolean[HISTORY];
+        this.pendingTurns = new int[HISTORY];
+        this.pendingHashes = new long[HISTORY];
+        resetChecks();
+        setTurn(0, 0);
+    }
+
+    /**
+     * Updates the turn state and records the hash the turn starts with.
+     * A peer check that arrived early for this turn is compared now. O(number of boards).
+     * @param turn The turn number.
+     * @param activePlayer The player whose turn it is.
+     */
+    public void setTurn(int turn, int activePlayer) {
+        this.turn = turn;
+        this.activePlayer = activePlayer;
+        this.turnKey = Zobrist.key(seed, Zobrist.TAG_TURN, turn) ^ Zobrist.key(seed, Zobrist.TAG_PLAYER, activePlayer);
+
+        int slot = Math.floorMod(turn, HISTORY);
+        long hash = getHash();
+        startTurns[slot] = turn;
+        startHashes[slot] = hash;
+        if (pending[slot]) {
+            pending[slot] = false;
+            if (pendingTurns[slot] == turn) {
+                compare(turn, hash, pendingHashes[slot]);
+            }
+        }
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getActivePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * @return The current match hash.
+     */
+    public long getHash() {
+        long hash = turnKey;
+        for (int i = 0; i < boards.length; i++) {
+            hash ^= Zobrist.mix(boards[i].getHash() ^ boardSalts[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * @param listener Called when readCheck() finds a mismatch (null to remove).
+     */
+    public void setDesyncListener(DesyncListener listener) {
+        this.desyncListener = listener;
+    }
+
+    /**
+     * Writes the per-turn check message: the turn number and the hash the turn
+     * started with, so it can be sent at any point during the turn.
+     * @param out The stream to write to.
+     * @throws IOException If the stream fails.
+     */
+    public void writeCheck(DataOutputStream out) throws IOException {
+        out.writeInt(turn);
+        out.writeLong(startHashes[Math.floorMod(turn, HISTORY)]);
+    }
+
+    /**
+     * Reads a peer's check message and compares it with the local state.
+     * A check for a turn up to MAX_TURN_LAG turns ahead is kept and compared by
+     * setTurn(); one up to MAX_TURN_LAG turns behind is compared with the hash the
+     * local peer had at the start of that turn.
+     * @param in The stream to read from.
+     * @return False if the hashes differ for the same turn, or the peers are more than MAX_TURN_LAG turns apart.
+     * @throws IOException If the stream fails.
+     */
+    public boolean readCheck(DataInputStream in) throws IOException {
+        int remoteTurn = in.readInt();
+        long remoteHash = in.readLong();
+        long lag = (long) remoteTurn - turn;
+        if (lag > MAX_TURN_LAG || lag < -MAX_TURN_LAG) {
+            long localHash = getHash();
+            Gdx.app.error(TAG, "Desync: peer at turn " + remoteTurn + ", local turn " + turn);
+            if (desyncListener != null) {
+                desyncListener.onDesync(remoteTurn, localHash, remoteHash);
+            }
+            return false;
+        }
+
+        int slot = Math.floorMod(remoteTurn, HISTORY);
+        if (lag > 0) {
+            pending[slot] = true;
+            pendingTurns[slot] = remoteTurn;
+            pendingHashes[slot] = remoteHash;
+            return true;
+        }
+        if (startTurns[slot] != remoteTurn) {
+            return true; // Turn started before the last resync, nothing to compare with
+        }
+        return compare(remoteTurn, startHashes[slot], remoteHash);
+    }
+
+    private boolean compare(int checkTurn, long localHash, long remoteHash) {
+        if (localHash == remoteHash) {
+            return true;
+        }
+        Gdx.app.error(TAG, "Desync at turn " + checkTurn + ": local " + Long.toHexString(localHash)
+            + ", remote " + Long.toHexString(remoteHash));
+        if (desyncListener != null) {
+            desyncListener.onDesync(checkTurn, localHash, remoteHash);
+        }
+        return false;
+    }
+
+    // Forgets recorded and pending checks, which no longer describe the match after a resync
+    private void resetChecks() {
+        for (int i = 0; i < HISTORY; i++) {
+            startTurns[i] = Integer.MIN_VALUE;
+            pending[i] = false;
+        }
+    }
+
+    /**
+     * Writes the full match state for a resync.
+     * @param out The stream to write to.
+     * @throws IOException If the stream fails.
+     */
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(turn);
+        out.writeInt(activePlayer);
+        // Start-of-turn hash, so both peers send the same check for the resynced turn
+        out.writeLong(startHashes[Math.floorMod(turn, HISTORY)]);
+        out.writeInt(boards.length);
+        for (Board_Model board : boards) {
+            board.writeChunks(out, 0);
+        }
+    }
+
+    /**
+     * Replaces the local match state with one written by writeState().
+     * The whole payload is read and validated before anything changes, so a bad
+     * or truncated stream leaves the local state as it was.
+     * Afterwards getHash() equals the sender's hash.
+     * @param in The stream to read from.
+     * @throws IOException If the stream fails, the board count differs or a board payload is invalid.
+     */
+    public void readState(DataInputStream in) throws IOException {
+        int newTurn = in.readInt();
+        int newActivePlayer = in.readInt();
+        long newStartHash = in.readLong();
+        int boardCount = in.readInt();
+        if (boardCount != boards.length) {
+            throw new IOException("Board count mismatch: " + boardCount + " != " + boards.length);
+        }
+        Board_Model.Delta[] deltas = new Board_Model.Delta[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            deltas[i] = boards[i].readDelta(in);
+        }
+
+        for (int i = 0; i < boards.length; i++) {
+            boards[i].clear();
+            boards[i].applyDelta(deltas[i]);
+        }
+        resetChecks();
+        setTurn(newTurn, newActivePlayer);
+        startHashes[Math.floorMod(turn, HISTORY)] = newStartHash;
+        Gdx.app.log(TAG, "Resynced at turn " + turn + ", hash " + Long.toHexString(getHash()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.admirals.board;
+
+/**
+ * Zobrist-style 64-bit keys for match hashing.
+ * Keys are computed on the fly from a seed and the feature's coordinates
+ * (SplitMix64 finalizer) instead of being read from a random table, so boards
+ * of any size cost no table memory. The same inputs give the same key on every peer.
+ */
+public final class Zobrist {
+
+    // Feature tags, so keys of different kinds of features never collide by construction
+    public static final int TAG_TURN = 1;
+    public static final int TAG_PLAYER = 2;
+    public static final int TAG_BOARD = 3;
+
+    private static final long CELL_SEED = 0x5DEECE66DL;
+
+    private Zobrist() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Key of one cell in one state. WATER has key 0, so untouched cells add nothing
+     * to a board hash and an all-water board hashes to 0.
+     * @param column The column.
+     * @param row The row.
+     * @param state A Cell_State value.
+     * @return The 64-bit key.
+     */
+    public static long cellKey(int column, int row, int state) {
+        if (state == Cell_State.WATER) {
+            return 0L;
+        }
+        return mix(CELL_SEED
+            ^ (((long) column << 32) | (row & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L
+            ^ state * 0xD1B54A32D192ED03L);
+    }
+
+    /**
+     * Key of a tagged value (turn number, active player, board slot, ...).
+     * @param seed The match seed.
+     * @param tag One of the TAG constants.
+     * @param value The value.
+     * @return The 64-bit key.
+     */
+    public static long key(long seed, int tag, long value) {
+        return mix(seed ^ ((long) tag << 56) ^ value * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole output.
+     * @param z The input.
+     * @return The mixed value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -6,7 +6,9 @@ import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
@@ -15,22 +17,66 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Manages loading, retrieval, and disposal of game assets.
  * Maps logical keys to asset paths. Handles caching and disposal.
+ * Assets are loaded per Asset_Scope and reference-counted across scopes,
+ * so only what the active screens need stays resident.
  */
 public class Asset_Manager {
 
+    /**
+     * Screens that need assets beyond the global set implement this interface.
+     * Center acquires the incoming screen's scope and releases the outgoing one.
+     */
+    public interface ScopedScreen {
+        /**
+         * @return The assets this screen needs while it is shown. Must return the same instance every call.
+         */
+        Asset_Scope getAssetScope();
+    }
+
     private final AssetManager assetManager;
     private static final String TAG = "Asset_Manager";
 
+    // Default resident memory budget (textures + audio), in bytes.
+    // 0 disables the idle cache: assets are unloaded as soon as no scope references them.
+    public static final long DEFAULT_MEMORY_BUDGET = 0L;
+
+    // Rough decoded-size factor for compressed audio (ogg/mp3 decode to PCM in memory)
+    private static final int COMPRESSED_AUDIO_FACTOR = 10;
+    // Music is streamed; only the OpenAL buffers stay resident (approximate)
+    private static final long MUSIC_STREAM_BYTES = 3L * 40960L;
+
     // Maps for logical keys to file paths
     private final HashMap<String, String> atlasPaths;
     private final HashMap<String, String> spritePaths;
     private final HashMap<String, String> soundPaths;
     private final HashMap<String, String> musicPaths;
     private final HashMap<String, String> fontPaths;
+    private final HashMap<String, String> effectPaths;
+
+    // Assets every screen needs (fonts), acquired once by loadAssets()
+    private final Asset_Scope globalScope;
+    // Scopes currently holding references, with the paths resolved when each was acquired.
+    // Release uses these, so keys added to a scope after acquiring it cannot unbalance the counts.
+    private final LinkedHashMap<Asset_Scope, LinkedHashMap<String, Class<?>>> activeScopes;
+    // Reference count and asset type per path
+    private final HashMap<String, Integer> refCounts;
+    private final HashMap<String, Class<?>> assetTypes;
+    // Unreferenced but still resident paths, oldest release first (evicted when over budget)
+    private final LinkedHashSet<String> idlePaths;
+    // Estimated size per loaded path, measured once after loading
+    private final HashMap<String, Long> assetBytes;
+
+    private long memoryBudget;
+    private boolean budgetCheckPending;
 
     /**
      * Initializes the AssetManager, sets up loaders, and populates key maps.
@@ -45,6 +91,15 @@ public class Asset_Manager {
         soundPaths = new HashMap<String, String>();
         musicPaths = new HashMap<String, String>();
         fontPaths = new HashMap<String, String>();
+        effectPaths = new HashMap<String, String>();
+
+        globalScope = new Asset_Scope("Global");
+        activeScopes = new LinkedHashMap<Asset_Scope, LinkedHashMap<String, Class<?>>>();
+        refCounts = new HashMap<String, Integer>();
+        assetTypes = new HashMap<String, Class<?>>();
+        idlePaths = new LinkedHashSet<String>();
+        assetBytes = new HashMap<String, Long>();
+        memoryBudget = DEFAULT_MEMORY_BUDGET;
 
         populateAssetMaps();
     }
@@ -69,42 +124,351 @@ public class Asset_Manager {
 
         // musicPaths.put("main_theme", "sounds/music/main_theme.mp3");
 
+        // Particle effects (images are loaded from the effect file's folder)
+        // effectPaths.put("splash", "effects/splash.p");
+        // effectPaths.put("explosion", "effects/explosion.p");
+
         // Fonts
         fontPaths.put("Operator", "fonts/8_Bit_Operator.ttf");
         // fontPaths.put("roboto_reg", "fonts/roboto_regular.ttf");
+
+        // Global scope: assets that stay resident for the whole session
+        globalScope.addFont("Operator");
     }
 
     /**
-     * Loads all required game assets synchronously based on the populated maps.
+     * Loads the global asset scope (fonts) synchronously.
+     * Screen-specific assets are loaded through acquireScope() instead.
      * Call this during the game's initialization phase.
      */
     public void loadAssets() {
-        Gdx.app.log(TAG, "Loading assets...");
+        Gdx.app.log(TAG, "Loading global assets...");
+        acquireScope(globalScope);
 
-        // Queue all assets from the path maps
-        for (String path : atlasPaths.values()) {
-            assetManager.load(path, TextureAtlas.class);
+        try {
+            // Block until all assets are loaded
+            assetManager.finishLoading();
+            Gdx.app.log(TAG, "Assets loaded successfully.");
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Error loading assets.", e);
         }
-        for (String path : spritePaths.values()) {
-            assetManager.load(path, Texture.class);
+        trimToBudget();
+    }
+
+    /**
+     * Adds a reference to every asset in the scope and queues the missing ones
+     * for background loading. Call update() each frame to progress loading.
+     * @param scope The scope to acquire.
+     */
+    public void acquireScope(Asset_Scope scope) {
+        if (activeScopes.containsKey(scope)) {
+            Gdx.app.error(TAG, "Scope already acquired: " + scope.getName());
+            return;
         }
-        for (String path : soundPaths.values()) {
-            assetManager.load(path, Sound.class);
+        LinkedHashMap<String, Class<?>> paths = resolveScope(scope);
+        activeScopes.put(scope, paths);
+
+        for (Map.Entry<String, Class<?>> entry : paths.entrySet()) {
+            String path = entry.getKey();
+            Integer count = refCounts.get(path);
+            int newCount = (count == null) ? 1 : count + 1;
+            refCounts.put(path, newCount);
+
+            if (newCount == 1) {
+                // Still resident from an earlier scope, just reclaim it
+                if (idlePaths.remove(path)) {
+                    continue;
+                }
+                assetTypes.put(path, entry.getValue());
+                assetManager.load(path, entry.getValue());
+            }
         }
-        for (String path : musicPaths.values()) {
-            assetManager.load(path, Music.class);
+        budgetCheckPending = true;
+        Gdx.app.log(TAG, "Acquired scope: " + scope.getName());
+    }
+
+    /**
+     * @param scope The scope to check.
+     * @return True if the scope currently holds references (acquired and not yet released).
+     */
+    public boolean isScopeAcquired(Asset_Scope scope) {
+        return activeScopes.containsKey(scope);
+    }
+
+    /**
+     * Removes a reference from every asset the scope held when it was acquired.
+     * Assets no other scope uses are unloaded, or kept as idle while a memory budget is set.
+     * @param scope The scope to release.
+     */
+    public void releaseScope(Asset_Scope scope) {
+        LinkedHashMap<String, Class<?>> paths = activeScopes.remove(scope);
+        if (paths == null) {
+            Gdx.app.error(TAG, "Scope not acquired: " + scope.getName());
+            return;
         }
-        for (String path : fontPaths.values()) {
-            assetManager.load(path, FreeTypeFontGenerator.class);
+
+        for (String path : paths.keySet()) {
+            Integer count = refCounts.get(path);
+            if (count == null) {
+                continue;
+            }
+            if (count <= 1) {
+                refCounts.remove(path);
+                idlePaths.add(path);
+            } else {
+                refCounts.put(path, count - 1);
+            }
         }
+        Gdx.app.log(TAG, "Released scope: " + scope.getName());
+        trimToBudget();
+    }
 
+    /**
+     * Progresses background loading. Call once per frame from the render thread.
+     * @return True if all queued assets have finished loading.
+     */
+    public boolean update() {
+        boolean done;
         try {
-            // Block until all assets are loaded
-            assetManager.finishLoading();
-            Gdx.app.log(TAG, "Assets loaded successfully.");
+            done = assetManager.update();
         } catch (GdxRuntimeException e) {
             Gdx.app.error(TAG, "Error loading assets.", e);
+            return false;
+        }
+        if (done && budgetCheckPending) {
+            budgetCheckPending = false;
+            trimToBudget();
+        }
+        return done;
+    }
+
+    /**
+     * @param scope The scope to check.
+     * @return True if every asset of the scope is loaded and ready to use.
+     */
+    public boolean isScopeLoaded(Asset_Scope scope) {
+        LinkedHashMap<String, Class<?>> paths = activeScopes.get(scope);
+        if (paths == null) {
+            paths = resolveScope(scope);
+        }
+        for (Map.Entry<String, Class<?>> entry : paths.entrySet()) {
+            if (!assetManager.isLoaded(entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Loading progress of all queued assets, between 0 and 1.
+     */
+    public float getProgress() {
+        return assetManager.getProgress();
+    }
+
+    /**
+     * Sets the resident memory budget, which enables the idle cache: released assets
+     * stay loaded (so a screen shown again starts instantly) and are unloaded oldest
+     * first once the resident total exceeds the budget. Referenced assets are never unloaded.
+     * @param bytes The budget in bytes (0 unloads released assets immediately, the default).
+     */
+    public void setMemoryBudget(long bytes) {
+        memoryBudget = bytes;
+        trimToBudget();
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Unloads idle assets until resident memory fits the budget (all of them without a budget).
+     */
+    private void trimToBudget() {
+        if (idlePaths.isEmpty() && memoryBudget <= 0) {
+            return;
+        }
+        long resident = getResidentBytes();
+
+        Iterator<String> it = idlePaths.iterator();
+        while (it.hasNext() && (memoryBudget <= 0 || resident > memoryBudget)) {
+            String path = it.next();
+            resident -= estimateBytes(path);
+            it.remove();
+            assetTypes.remove(path);
+            assetBytes.remove(path);
+            if (assetManager.contains(path)) {
+                assetManager.unload(path);
+            }
+            Gdx.app.log(TAG, "Unloaded asset: " + path);
+        }
+
+        if (memoryBudget > 0 && resident > memoryBudget) {
+            Gdx.app.error(TAG, "Referenced assets exceed memory budget: "
+                + toKb(resident) + " KB > " + toKb(memoryBudget) + " KB");
+        }
+    }
+
+    /**
+     * Maps the logical keys of a scope to (path, type) pairs.
+     * Unknown keys are logged and skipped.
+     */
+    private LinkedHashMap<String, Class<?>> resolveScope(Asset_Scope scope) {
+        LinkedHashMap<String, Class<?>> result = new LinkedHashMap<String, Class<?>>();
+        resolveKeys(scope.getAtlasKeys(), atlasPaths, TextureAtlas.class, "atlas", result);
+        resolveKeys(scope.getSpriteKeys(), spritePaths, Texture.class, "sprite", result);
+        resolveKeys(scope.getSoundKeys(), soundPaths, Sound.class, "sound", result);
+        resolveKeys(scope.getMusicKeys(), musicPaths, Music.class, "music", result);
+        resolveKeys(scope.getFontKeys(), fontPaths, FreeTypeFontGenerator.class, "font", result);
+        resolveKeys(scope.getEffectKeys(), effectPaths, ParticleEffect.class, "effect", result);
+        return result;
+    }
+
+    private void resolveKeys(List<String> keys, HashMap<String, String> paths, Class<?> type,
+                             String kind, LinkedHashMap<String, Class<?>> out) {
+        for (String key : keys) {
+            String path = paths.get(key);
+            if (path == null) {
+                Gdx.app.error(TAG, "No path found for " + kind + " key: " + key);
+                continue;
+            }
+            out.put(path, type);
+        }
+    }
+
+    /**
+     * @return Estimated resident memory of all loaded assets (referenced and idle), in bytes.
+     */
+    public long getResidentBytes() {
+        long total = 0;
+        for (String path : assetTypes.keySet()) {
+            total += estimateBytes(path);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the memory an asset occupies once loaded.
+     * Measured on the first call after the asset finished loading, then cached until it is unloaded.
+     * @param path Full path to the asset.
+     * @return Estimated bytes, or 0 if the asset is not loaded.
+     */
+    private long estimateBytes(String path) {
+        Long cached = assetBytes.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        Class<?> type = assetTypes.get(path);
+        if (type == null || !assetManager.isLoaded(path)) {
+            return 0;
+        }
+        long bytes = measureBytes(path, type);
+        assetBytes.put(path, bytes);
+        return bytes;
+    }
+
+    /**
+     * Measures a loaded asset. Textures are exact (size * format, plus mipmaps); audio is approximate.
+     */
+    private long measureBytes(String path, Class<?> type) {
+        if (type == Texture.class) {
+            return estimateTextureBytes(assetManager.get(path, Texture.class));
+        }
+        if (type == TextureAtlas.class) {
+            long bytes = 0;
+            for (Texture texture : assetManager.get(path, TextureAtlas.class).getTextures()) {
+                bytes += estimateTextureBytes(texture);
+            }
+            return bytes;
         }
+        if (type == Sound.class) {
+            long fileBytes = Gdx.files.internal(path).length();
+            return path.toLowerCase().endsWith(".wav") ? fileBytes : fileBytes * COMPRESSED_AUDIO_FACTOR;
+        }
+        if (type == Music.class) {
+            return MUSIC_STREAM_BYTES;
+        }
+        // Font generators hold the raw font file
+        return Gdx.files.internal(path).length();
+    }
+
+    private long estimateTextureBytes(Texture texture) {
+        long bytes = (long) texture.getWidth() * texture.getHeight()
+            * bytesPerPixel(texture.getTextureData().getFormat());
+        if (texture.getTextureData().useMipMaps()) {
+            bytes = bytes * 4 / 3;
+        }
+        return bytes;
+    }
+
+    private int bytesPerPixel(Pixmap.Format format) {
+        if (format == null) {
+            return 4;
+        }
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    /**
+     * Builds a report of resident texture and audio memory per active scope.
+     * Shared assets are counted in every scope that references them; the total is not.
+     * @return A multi-line, human-readable report.
+     */
+    public String getMemoryReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("Resident assets: ").append(toKb(getResidentBytes())).append(" KB / budget ")
+            .append(toKb(memoryBudget)).append(" KB");
+
+        for (Map.Entry<Asset_Scope, LinkedHashMap<String, Class<?>>> scopeEntry : activeScopes.entrySet()) {
+            Asset_Scope scope = scopeEntry.getKey();
+            long textureBytes = 0;
+            long audioBytes = 0;
+            long otherBytes = 0;
+            for (Map.Entry<String, Class<?>> entry : scopeEntry.getValue().entrySet()) {
+                long bytes = estimateBytes(entry.getKey());
+                Class<?> type = entry.getValue();
+                if (type == Texture.class || type == TextureAtlas.class) {
+                    textureBytes += bytes;
+                } else if (type == Sound.class || type == Music.class) {
+                    audioBytes += bytes;
+                } else {
+                    otherBytes += bytes;
+                }
+            }
+            report.append("\n  [").append(scope.getName()).append("] textures ").append(toKb(textureBytes))
+                .append(" KB, audio ").append(toKb(audioBytes))
+                .append(" KB, other ").append(toKb(otherBytes)).append(" KB");
+        }
+
+        long idleBytes = 0;
+        for (String path : idlePaths) {
+            idleBytes += estimateBytes(path);
+        }
+        report.append("\n  [idle] ").append(idlePaths.size()).append(" assets, ")
+            .append(toKb(idleBytes)).append(" KB");
+        return report.toString();
+    }
+
+    /**
+     * Logs getMemoryReport() under this manager's tag.
+     */
+    public void logMemoryReport() {
+        Gdx.app.log(TAG, getMemoryReport());
+    }
+
+    private static long toKb(long bytes) {
+        return bytes / 1024L;
     }
 
     /**
@@ -182,6 +546,21 @@ public class Asset_Manager {
         return getAsset(path, FreeTypeFontGenerator.class);
     }
 
+    /**
+     * Retrieves a ParticleEffect template by its logical key.
+     * Use it as the template of a ParticleEffectPool, never draw it directly.
+     * @param key The logical key for the effect (e.g., "splash").
+     * @return The ParticleEffect, or null if key not found or asset not loaded.
+     */
+    public ParticleEffect getParticleEffect(String key) {
+        String path = effectPaths.get(key);
+        if (path == null) {
+            Gdx.app.error(TAG, "No path found for effect key: " + key);
+            return null;
+        }
+        return getAsset(path, ParticleEffect.class);
+    }
+
     /**
      * Retrieves a specific sprite (AtlasRegion) from a TextureAtlas.
      * @param atlasKey The logical key for the atlas (e.g., "game_ui").
@@ -240,5 +619,10 @@ public class Asset_Manager {
     public void dispose() {
         Gdx.app.log(TAG, "Disposing all assets.");
         assetManager.dispose();
+        activeScopes.clear();
+        refCounts.clear();
+        assetTypes.clear();
+        idlePaths.clear();
+        assetBytes.clear();
     }
 }
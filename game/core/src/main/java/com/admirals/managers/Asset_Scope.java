@@ -0,0 +1,116 @@
+package com.admirals.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Declares the set of assets a screen needs while it is active.
+ * Holds logical keys only (the same keys Asset_Manager maps to paths).
+ * Asset_Manager reference-counts every asset across all acquired scopes,
+ * so assets shared between screens stay resident during a screen change.
+ * Keys added while the scope is acquired take effect the next time it is acquired.
+ */
+public class Asset_Scope {
+
+    private final String name;
+
+    // Logical keys, grouped by asset type
+    private final List<String> atlasKeys;
+    private final List<String> spriteKeys;
+    private final List<String> soundKeys;
+    private final List<String> musicKeys;
+    private final List<String> fontKeys;
+    private final List<String> effectKeys;
+
+    /**
+     * Creates an empty scope.
+     * @param name Readable name used in logs and memory reports (e.g., "MainMenu").
+     */
+    public Asset_Scope(String name) {
+        this.name = name;
+        atlasKeys = new ArrayList<String>();
+        spriteKeys = new ArrayList<String>();
+        soundKeys = new ArrayList<String>();
+        musicKeys = new ArrayList<String>();
+        fontKeys = new ArrayList<String>();
+        effectKeys = new ArrayList<String>();
+    }
+
+    /**
+     * @param key Logical atlas key (e.g., "game_ui").
+     */
+    public void addAtlas(String key) {
+        addUnique(atlasKeys, key);
+    }
+
+    /**
+     * @param key Logical sprite key (e.g., "background").
+     */
+    public void addSprite(String key) {
+        addUnique(spriteKeys, key);
+    }
+
+    /**
+     * @param key Logical sound key (e.g., "explosion").
+     */
+    public void addSound(String key) {
+        addUnique(soundKeys, key);
+    }
+
+    /**
+     * @param key Logical music key (e.g., "main_theme").
+     */
+    public void addMusic(String key) {
+        addUnique(musicKeys, key);
+    }
+
+    /**
+     * @param key Logical font key (e.g., "Operator").
+     */
+    public void addFont(String key) {
+        addUnique(fontKeys, key);
+    }
+
+    /**
+     * @param key Logical particle effect key (e.g., "splash").
+     */
+    public void addEffect(String key) {
+        addUnique(effectKeys, key);
+    }
+
+    // A key listed twice in one scope must only count once
+    private void addUnique(List<String> keys, String key) {
+        if (!keys.contains(key)) {
+            keys.add(key);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAtlasKeys() {
+        return Collections.unmodifiableList(atlasKeys);
+    }
+
+    public List<String> getSpriteKeys() {
+        return Collections.unmodifiableList(spriteKeys);
+    }
+
+    public List<String> getSoundKeys() {
+        return Collections.unmodifiableList(soundKeys);
+    }
+
+    public List<String> getMusicKeys() {
+        return Collections.unmodifiableList(musicKeys);
+    }
+
+    public List<String> getFontKeys() {
+        return Collections.unmodifiableList(fontKeys);
+    }
+
+    public List<String> getEffectKeys() {
+        return Collections.unmodifiableList(effectKeys);
+    }
+}
@@ -0,0 +1,437 @@
+package com.admirals.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+
+import java.util.HashMap;
+
+/**
+ * Plays sounds and music on top of Asset_Manager.
+ * Sound requests are collected during the frame and flushed in update():
+ * duplicates are coalesced, per-category cooldowns are applied, and a fixed
+ * voice budget is shared by priority (low-priority voices are stolen first).
+ * Music tracks are loaded in the background through their own asset scope
+ * and started only once ready, so switching tracks never blocks a frame.
+ */
+public class Audio_Manager implements Disposable {
+
+    /**
+     * Sound categories. Higher priority wins when the voice budget is full.
+     * Cooldown is the minimum time (seconds) between two plays of the same sound.
+     */
+    public enum Category {
+        AMBIENT(0, 0.25f),
+        UI(1, 0.05f),
+        WEAPON(2, 0.06f),
+        EXPLOSION(3, 0.08f);
+
+        private final int priority;
+        private final float defaultCooldown;
+
+        Category(int priority, float defaultCooldown) {
+            this.priority = priority;
+            this.defaultCooldown = defaultCooldown;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+    }
+
+    // A playing sound instance occupying one slot of the voice budget
+    private static final class Voice {
+        Sound sound;
+        long id;
+        int priority;
+        float startTime;
+        float endTime;
+    }
+
+    // A sound requested this frame, not played yet
+    private static final class PlayRequest {
+        String key;
+        Category category;
+        float volume;
+    }
+
+    private static final String TAG = "Audio_Manager";
+
+    // Leaves headroom below the backend's default 16 OpenAL sources for music
+    public static final int DEFAULT_MAX_VOICES = 12;
+    // Requests beyond this per frame are dropped (a salvo rarely has more unique sounds)
+    private static final int MAX_PENDING = 32;
+    // Voice length used when a sound has no registered duration
+    private static final float DEFAULT_SOUND_DURATION = 1.5f;
+
+    private final Asset_Manager assetManager;
+
+    private final Voice[] voices;
+    private final PlayRequest[] pending;
+    private int pendingCount;
+
+    private final float[] cooldowns;
+    private final ObjectFloatMap<String> lastPlayTimes;
+    private final ObjectFloatMap<String> soundDurations;
+
+    // One asset scope per music track, so tracks load and unload independently
+    private final HashMap<String, Asset_Scope> musicScopes;
+    private String currentMusicKey;
+    private Music currentMusic;
+    private String requestedMusicKey;
+    private boolean requestedLooping;
+    private String queuedMusicKey;
+    private final Music.OnCompletionListener completionListener;
+    // Set when a track was switched inside the completion listener; scopes are released in update()
+    private boolean musicReleasePending;
+
+    private float sfxVolume;
+    private float musicVolume;
+    private float time;
+
+    /**
+     * @param assetManager The game's Asset_Manager (owns all Sound and Music instances).
+     */
+    public Audio_Manager(Asset_Manager assetManager) {
+        this(assetManager, DEFAULT_MAX_VOICES);
+    }
+
+    /**
+     * @param assetManager The game's Asset_Manager (owns all Sound and Music instances).
+     * @param maxVoices Maximum number of sound instances playing at once.
+     */
+    public Audio_Manager(Asset_Manager assetManager, int maxVoices) {
+        this.assetManager = assetManager;
+
+        voices = new Voice[maxVoices];
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+        pending = new PlayRequest[MAX_PENDING];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = new PlayRequest();
+        }
+
+        Category[] categories = Category.values();
+        cooldowns = new float[categories.length];
+        for (Category category : categories) {
+            cooldowns[category.ordinal()] = category.defaultCooldown;
+        }
+        lastPlayTimes = new ObjectFloatMap<String>();
+        soundDurations = new ObjectFloatMap<String>();
+        musicScopes = new HashMap<String, Asset_Scope>();
+
+        sfxVolume = 1f;
+        musicVolume = 1f;
+
+        // Starts the queued track as soon as the current one ends (no frame in between)
+        completionListener = new Music.OnCompletionListener() {
+            @Override
+            public void onCompletion(Music music) {
+                if (music != currentMusic || queuedMusicKey == null) {
+                    return;
+                }
+                String next = queuedMusicKey;
+                queuedMusicKey = null;
+                if (isMusicReady(next)) {
+                    startMusic(next, false);
+                    // Releasing here could unload (dispose) the Music still running this callback
+                    musicReleasePending = true;
+                } else {
+                    // Still loading; update() starts it once ready
+                    requestedMusicKey = next;
+                    requestedLooping = false;
+                }
+            }
+        };
+    }
+
+    /**
+     * Requests a sound for this frame. Requests for the same key are coalesced
+     * (loudest volume wins). The sound plays on the next update().
+     * @param key The logical sound key (e.g., "explosion").
+     * @param category The category (priority and cooldown).
+     * @param volume Volume between 0 and 1, before the SFX volume is applied.
+     */
+    public void play(String key, Category category, float volume) {
+        for (int i = 0; i < pendingCount; i++) {
+            PlayRequest request = pending[i];
+            if (request.key.equals(key)) {
+                request.volume = Math.max(request.volume, volume);
+                if (category.priority > request.category.priority) {
+                    request.category = category;
+                }
+                return;
+            }
+        }
+
+        if (pendingCount == pending.length) {
+            return; // Frame is saturated, drop silently
+        }
+        PlayRequest request = pending[pendingCount++];
+        request.key = key;
+        request.category = category;
+        request.volume = volume;
+    }
+
+    /**
+     * Requests a sound at full volume.
+     * @param key The logical sound key.
+     * @param category The category (priority and cooldown).
+     */
+    public void play(String key, Category category) {
+        play(key, category, 1f);
+    }
+
+    /**
+     * Flushes this frame's sound requests and advances music.
+     * Must be called once per frame from the render thread.
+     * @param delta Time since the last frame, in seconds.
+     */
+    public void update(float delta) {
+        time += delta;
+        flushPending();
+        updateMusic();
+    }
+
+    private void flushPending() {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        // Insertion sort by priority (highest first); stable and allocation-free
+        for (int i = 1; i < pendingCount; i++) {
+            PlayRequest request = pending[i];
+            int j = i - 1;
+            while (j >= 0 && pending[j].category.priority < request.category.priority) {
+                pending[j + 1] = pending[j];
+                j--;
+            }
+            pending[j + 1] = request;
+        }
+
+        for (int i = 0; i < pendingCount; i++) {
+            playNow(pending[i]);
+            pending[i].key = null;
+        }
+        pendingCount = 0;
+    }
+
+    private void playNow(PlayRequest request) {
+        float last = lastPlayTimes.get(request.key, Float.NEGATIVE_INFINITY);
+        if (time - last < cooldowns[request.category.ordinal()]) {
+            return;
+        }
+
+        Voice voice = findVoice(request.category.priority);
+        if (voice == null) {
+            return; // Every voice is busy with a higher priority sound
+        }
+
+        Sound sound = assetManager.getSound(request.key);
+        if (sound == null) {
+            return; // Error logged in Asset_Manager
+        }
+
+        long id = sound.play(request.volume * sfxVolume);
+        if (id == -1) {
+            return; // Backend ran out of sources
+        }
+        voice.sound = sound;
+        voice.id = id;
+        voice.priority = request.category.priority;
+        voice.startTime = time;
+        voice.endTime = time + soundDurations.get(request.key, DEFAULT_SOUND_DURATION);
+        lastPlayTimes.put(request.key, time);
+    }
+
+    /**
+     * Returns a free voice, or steals the oldest voice of the lowest priority
+     * not above the requested one. Returns null if nothing can be stolen.
+     */
+    private Voice findVoice(int priority) {
+        Voice victim = null;
+        for (Voice voice : voices) {
+            if (voice.sound == null || voice.endTime <= time) {
+                voice.sound = null;
+                return voice;
+            }
+            if (voice.priority <= priority && (victim == null || voice.priority < victim.priority
+                || (voice.priority == victim.priority && voice.startTime < victim.startTime))) {
+                victim = voice;
+            }
+        }
+        if (victim != null) {
+            victim.sound.stop(victim.id);
+            victim.sound = null;
+        }
+        return victim;
+    }
+
+    /**
+     * Registers how long a sound plays, so its voice is freed on time.
+     * Sounds without a registered duration hold their voice for a default length.
+     * @param key The logical sound key.
+     * @param seconds The sound's length in seconds.
+     */
+    public void setSoundDuration(String key, float seconds) {
+        soundDurations.put(key, seconds);
+    }
+
+    /**
+     * @param category The category to configure.
+     * @param seconds Minimum time between two plays of the same sound in this category.
+     */
+    public void setCooldown(Category category, float seconds) {
+        cooldowns[category.ordinal()] = seconds;
+    }
+
+    /**
+     * Starts loading a music track in the background without playing it.
+     * @param key The logical music key (e.g., "main_theme").
+     */
+    public void prepareMusic(String key) {
+        Asset_Scope scope = musicScopes.get(key);
+        if (scope == null) {
+            scope = new Asset_Scope("Music:" + key);
+            scope.addMusic(key);
+            musicScopes.put(key, scope);
+        }
+        if (!assetManager.isScopeAcquired(scope)) {
+            assetManager.acquireScope(scope);
+        }
+    }
+
+    /**
+     * Switches to a music track. The current track keeps playing until the new one
+     * has loaded, then the switch happens in a single frame.
+     * @param key The logical music key.
+     * @param looping Whether the track loops.
+     */
+    public void playMusic(String key, boolean looping) {
+        prepareMusic(key);
+        requestedMusicKey = key;
+        requestedLooping = looping;
+        queuedMusicKey = null;
+    }
+
+    /**
+     * Queues a track to start the moment the current (non-looping) track ends,
+     * or as soon as it has loaded if nothing is playing then.
+     * The track is loaded in the background right away.
+     * @param key The logical music key.
+     */
+    public void queueMusic(String key) {
+        prepareMusic(key);
+        queuedMusicKey = key;
+    }
+
+    /**
+     * Stops the current track and releases every prepared track.
+     */
+    public void stopMusic() {
+        requestedMusicKey = null;
+        queuedMusicKey = null;
+        if (currentMusic != null) {
+            currentMusic.stop();
+            currentMusic.setOnCompletionListener(null);
+            currentMusic = null;
+        }
+        currentMusicKey = null;
+        musicReleasePending = false;
+        releaseUnusedMusic();
+    }
+
+    private void updateMusic() {
+        if (requestedMusicKey != null && isMusicReady(requestedMusicKey)) {
+            String key = requestedMusicKey;
+            requestedMusicKey = null;
+            startMusic(key, requestedLooping);
+            musicReleasePending = true;
+        } else if (queuedMusicKey != null && requestedMusicKey == null && isMusicReady(queuedMusicKey)
+            && (currentMusic == null || !currentMusic.isPlaying())) {
+            // Nothing playing (or it ended before the queued track loaded)
+            String key = queuedMusicKey;
+            queuedMusicKey = null;
+            startMusic(key, false);
+            musicReleasePending = true;
+        }
+        if (musicReleasePending) {
+            musicReleasePending = false;
+            releaseUnusedMusic();
+        }
+    }
+
+    private boolean isMusicReady(String key) {
+        Asset_Scope scope = musicScopes.get(key);
+        return scope != null && assetManager.isScopeLoaded(scope);
+    }
+
+    private void startMusic(String key, boolean looping) {
+        Music music = assetManager.getMusic(key);
+        if (music == null) {
+            return; // Error logged in Asset_Manager
+        }
+
+        if (currentMusic != null && currentMusic != music) {
+            currentMusic.setOnCompletionListener(null);
+            currentMusic.stop();
+        }
+
+        currentMusic = music;
+        currentMusicKey = key;
+        music.setLooping(looping);
+        music.setVolume(musicVolume);
+        music.setOnCompletionListener(completionListener);
+        music.play();
+        Gdx.app.log(TAG, "Playing music: " + key);
+    }
+
+    // Releases scopes of tracks that are neither playing, requested nor queued
+    private void releaseUnusedMusic() {
+        for (String key : musicScopes.keySet()) {
+            if (key.equals(currentMusicKey) || key.equals(requestedMusicKey) || key.equals(queuedMusicKey)) {
+                continue;
+            }
+            Asset_Scope scope = musicScopes.get(key);
+            if (assetManager.isScopeAcquired(scope)) {
+                assetManager.releaseScope(scope);
+            }
+        }
+    }
+
+    /**
+     * @param volume Sound effect volume between 0 and 1 (applies to new sounds).
+     */
+    public void setSfxVolume(float volume) {
+        sfxVolume = volume;
+    }
+
+    /**
+     * @param volume Music volume between 0 and 1.
+     */
+    public void setMusicVolume(float volume) {
+        musicVolume = volume;
+        if (currentMusic != null) {
+            currentMusic.setVolume(volume);
+        }
+    }
+
+    /**
+     * Stops all voices and music and releases music scopes.
+     * Does not dispose Sound or Music instances, as Asset_Manager owns them.
+     */
+    @Override
+    public void dispose() {
+        for (Voice voice : voices) {
+            if (voice.sound != null) {
+                voice.sound.stop(voice.id);
+                voice.sound = null;
+            }
+        }
+        pendingCount = 0;
+        stopMusic();
+    }
+}
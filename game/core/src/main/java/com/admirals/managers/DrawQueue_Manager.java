@@ -0,0 +1,308 @@
+package com.admirals.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Collects draws per ScreenScaler_Manager layer and submits them sorted by texture.
+ * SpriteBatch flushes whenever the texture changes, so interleaving font pages,
+ * ship sprites and UI textures costs one flush per switch. This queue reorders
+ * quads inside each layer into texture passes, but never moves a quad past another
+ * quad it overlaps that uses a different texture, so the visible result is unchanged.
+ * Layers are still drawn in order (1 first, 10 last).
+ * <p>
+ * Overlap is tested on a coarse grid over the virtual 1920x1080 space, which is
+ * conservative (it may keep two quads apart that do not actually touch) but keeps
+ * each draw O(1). Tiles that straddle grid lines share cells with their neighbours,
+ * so boards should place their cells on multiples of GRID_CELL to batch well.
+ * All storage is reused between frames.
+ */
+public class DrawQueue_Manager {
+
+    private static final String TAG = "DrawQueue_Manager";
+
+    // SpriteBatch vertex layout: x, y, color, u, v for 4 corners
+    private static final int QUAD_FLOATS = 20;
+
+    // Size of an overlap grid cell, in virtual units
+    private static final float GRID_CELL = 64f;
+    private static final int GRID_COLUMNS = (int) Math.ceil(ScreenScaler_Manager.VIRTUAL_WIDTH / GRID_CELL);
+    private static final int GRID_ROWS = (int) Math.ceil(ScreenScaler_Manager.VIRTUAL_HEIGHT / GRID_CELL);
+
+    /**
+     * Queued quads of one layer, in submission order.
+     */
+    private static final class LayerQueue {
+        final FloatArray vertices = new FloatArray(false, 1024 * QUAD_FLOATS);
+        final Array<Texture> textures = new Array<Texture>(false, 1024);
+        // Pass each quad was assigned to
+        final IntArray passes = new IntArray(false, 1024);
+
+        // Texture of each pass, and the last pass per texture
+        final Array<Texture> passTextures = new Array<Texture>(false, 64);
+        final ObjectIntMap<Texture> lastPassOfTexture = new ObjectIntMap<Texture>();
+
+        // Per grid cell: highest pass drawn there, and its texture (null if mixed)
+        final int[] cellMaxPass = new int[GRID_COLUMNS * GRID_ROWS];
+        final Texture[] cellTexture = new Texture[GRID_COLUMNS * GRID_ROWS];
+
+        LayerQueue() {
+            clearCells();
+        }
+
+        int size() {
+            return textures.size;
+        }
+
+        void clear() {
+            vertices.clear();
+            textures.clear();
+            passes.clear();
+            passTextures.clear();
+            lastPassOfTexture.clear();
+            clearCells();
+        }
+
+        void clearCells() {
+            for (int i = 0; i < cellMaxPass.length; i++) {
+                cellMaxPass[i] = -1;
+                cellTexture[i] = null;
+            }
+        }
+    }
+
+    private final LayerQueue[] layers;
+
+    // Reused by flush() to group quads by pass (counting sort)
+    private final IntArray passOffsets;
+    private final IntArray sortedQuads;
+
+    // Statistics of the last flush()
+    private int lastTextureBinds;
+    private int lastPasses;
+    private int lastQuads;
+
+    public DrawQueue_Manager() {
+        layers = new LayerQueue[ScreenScaler_Manager.MAX_LAYER + 1];
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            layers[layer] = new LayerQueue();
+        }
+        passOffsets = new IntArray(false, 64);
+        sortedQuads = new IntArray(false, 1024);
+    }
+
+    /**
+     * Queues a texture region.
+     * @param layer The rendering layer ID (1-10).
+     * @param region The region to draw.
+     * @param color The tint color.
+     * @param posX The X position in virtual (1920x1080) units.
+     * @param posY The Y position in virtual (1920x1080) units.
+     * @param width The width in virtual units.
+     * @param height The height in virtual units.
+     */
+    public void draw(int layer, TextureRegion region, Color color, float posX, float posY, float width, float height) {
+        LayerQueue queue = getQueue(layer);
+        if (queue == null) {
+            return;
+        }
+        float packedColor = color.toFloatBits();
+        float x2 = posX + width;
+        float y2 = posY + height;
+
+        // Same corner order as SpriteBatch.draw(TextureRegion, ...)
+        FloatArray v = queue.vertices;
+        v.add(posX, posY, packedColor, region.getU());
+        v.add(region.getV2());
+        v.add(posX, y2, packedColor, region.getU());
+        v.add(region.getV());
+        v.add(x2, y2, packedColor, region.getU2());
+        v.add(region.getV());
+        v.add(x2, posY, packedColor, region.getU2());
+        v.add(region.getV2());
+
+        enqueue(queue, region.getTexture(), posX, posY, x2, y2);
+    }
+
+    /**
+     * Queues the glyphs of a font cache (one quad per glyph, per font page).
+     * The cache is read, not modified.
+     * @param layer The rendering layer ID (1-10).
+     * @param cache A cache holding laid-out text.
+     */
+    public void drawText(int layer, BitmapFontCache cache) {
+        LayerQueue queue = getQueue(layer);
+        if (queue == null) {
+            return;
+        }
+        int pages = cache.getFont().getRegions().size;
+        for (int page = 0; page < pages; page++) {
+            Texture texture = cache.getFont().getRegion(page).getTexture();
+            float[] pageVertices = cache.getVertices(page);
+            int count = cache.getVertexCount(page);
+            for (int offset = 0; offset < count; offset += QUAD_FLOATS) {
+                queue.vertices.addAll(pageVertices, offset, QUAD_FLOATS);
+                // Corner 0 is bottom-left, corner 2 is top-right
+                enqueue(queue, texture, pageVertices[offset], pageVertices[offset + 1],
+                    pageVertices[offset + 10], pageVertices[offset + 11]);
+            }
+        }
+    }
+
+    private LayerQueue getQueue(int layer) {
+        if (layer < ScreenScaler_Manager.MIN_LAYER || layer > ScreenScaler_Manager.MAX_LAYER) {
+            Gdx.app.error(TAG, "Draw queued with invalid layer: " + layer);
+            return null;
+        }
+        return layers[layer];
+    }
+
+    /**
+     * Assigns the quad just appended to the earliest pass that keeps every
+     * overlapping quad of another texture behind it.
+     */
+    private void enqueue(LayerQueue queue, Texture texture, float minX, float minY, float maxX, float maxY) {
+        int col0 = toColumn(Math.min(minX, maxX));
+        int col1 = toColumn(Math.max(minX, maxX));
+        int row0 = toRow(Math.min(minY, maxY));
+        int row1 = toRow(Math.max(minY, maxY));
+
+        // Lowest pass allowed by what is already drawn under this quad
+        int minPass = 0;
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                int cell = row * GRID_COLUMNS + col;
+                int maxPass = queue.cellMaxPass[cell];
+                if (maxPass < 0) {
+                    continue;
+                }
+                // Same texture may share the pass (order inside a pass is kept)
+                int required = queue.cellTexture[cell] == texture ? maxPass : maxPass + 1;
+                if (required > minPass) {
+                    minPass = required;
+                }
+            }
+        }
+
+        int pass = queue.lastPassOfTexture.get(texture, -1);
+        if (pass < minPass) {
+            pass = queue.passTextures.size;
+            queue.passTextures.add(texture);
+            queue.lastPassOfTexture.put(texture, pass);
+        }
+
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                int cell = row * GRID_COLUMNS + col;
+                if (pass > queue.cellMaxPass[cell]) {
+                    queue.cellMaxPass[cell] = pass;
+                    queue.cellTexture[cell] = texture;
+                } else if (queue.cellTexture[cell] != texture) {
+                    queue.cellTexture[cell] = null; // Mixed textures at the top pass
+                }
+            }
+        }
+
+        queue.textures.add(texture);
+        queue.passes.add(pass);
+    }
+
+    private static int toColumn(float x) {
+        int col = (int) (x / GRID_CELL);
+        return Math.max(0, Math.min(GRID_COLUMNS - 1, col));
+    }
+
+    private static int toRow(float y) {
+        int row = (int) (y / GRID_CELL);
+        return Math.max(0, Math.min(GRID_ROWS - 1, row));
+    }
+
+    /**
+     * Submits every queued quad, layer by layer, then clears the queue.
+     * The batch must be between begin() and end(), with the virtual-space projection.
+     * @param batch The batch to submit to.
+     */
+    public void flush(Batch batch) {
+        lastTextureBinds = 0;
+        lastPasses = 0;
+        lastQuads = 0;
+        Texture bound = null;
+
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            LayerQueue queue = layers[layer];
+            if (queue.size() == 0) {
+                continue;
+            }
+            groupByPass(queue);
+
+            float[] vertices = queue.vertices.items;
+            for (int i = 0; i < sortedQuads.size; i++) {
+                int quad = sortedQuads.get(i);
+                Texture texture = queue.textures.get(quad);
+                if (texture != bound) {
+                    bound = texture;
+                    lastTextureBinds++;
+                }
+                batch.draw(texture, vertices, quad * QUAD_FLOATS, QUAD_FLOATS);
+            }
+            lastPasses += queue.passTextures.size;
+            lastQuads += queue.size();
+            queue.clear();
+        }
+    }
+
+    /**
+     * Fills sortedQuads with the layer's quads ordered by pass, keeping submission order inside a pass.
+     */
+    private void groupByPass(LayerQueue queue) {
+        int passCount = queue.passTextures.size;
+        passOffsets.clear();
+        for (int p = 0; p <= passCount; p++) {
+            passOffsets.add(0);
+        }
+        for (int i = 0; i < queue.passes.size; i++) {
+            passOffsets.incr(queue.passes.get(i) + 1, 1);
+        }
+        for (int p = 1; p <= passCount; p++) {
+            passOffsets.incr(p, passOffsets.get(p - 1));
+        }
+
+        sortedQuads.clear();
+        sortedQuads.ensureCapacity(queue.size());
+        sortedQuads.size = queue.size();
+        for (int i = 0; i < queue.passes.size; i++) {
+            int pass = queue.passes.get(i);
+            sortedQuads.set(passOffsets.get(pass), i);
+            passOffsets.incr(pass, 1);
+        }
+    }
+
+    /**
+     * @return Texture switches issued by the last flush() (each one flushes a SpriteBatch).
+     */
+    public int getLastTextureBinds() {
+        return lastTextureBinds;
+    }
+
+    /**
+     * @return Texture passes built by the last flush(), summed over layers.
+     */
+    public int getLastPasses() {
+        return lastPasses;
+    }
+
+    /**
+     * @return Quads submitted by the last flush().
+     */
+    public int getLastQuads() {
+        return lastQuads;
+    }
+}
@@ -0,0 +1,317 @@
+package com.admirals.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Spawns, updates, and draws pooled particle effects (splashes, fire, explosions).
+ * Each effect type has a pre-filled ParticleEffectPool, so spawning in battle
+ * allocates nothing. Live effects are kept per ScreenScaler_Manager layer and
+ * returned to their pool as soon as they complete.
+ * The number of live effects is capped: past the soft cap only important
+ * effects spawn, and at the hard cap they replace less important ones.
+ */
+public class Effects_Manager implements Disposable {
+
+    /**
+     * Registered effect type. Holds the pool and how the effect is placed.
+     */
+    private static final class EffectType {
+        final String effectKey;
+        final int layer;
+        final int poolSize;
+        final int priority;
+        ParticleEffectPool pool;
+        // Template the pool was built from (instances share its sprites and textures)
+        ParticleEffect template;
+
+        EffectType(String effectKey, int layer, int poolSize, int priority) {
+            this.effectKey = effectKey;
+            this.layer = layer;
+            this.poolSize = poolSize;
+            this.priority = priority;
+        }
+    }
+
+    private static final String TAG = "Effects_Manager";
+
+    public static final int DEFAULT_MAX_LIVE_EFFECTS = 64;
+    // Priority of purely cosmetic effects, the first to go when many effects are live
+    public static final int PRIORITY_COSMETIC = 0;
+
+    private final Asset_Manager assetManager;
+
+    private final HashMap<String, EffectType> types;
+    // Live effects per layer, indexed by layer ID (index 0 unused)
+    private final Array<PooledEffect>[] liveByLayer;
+    // Type of each live effect, kept parallel to liveByLayer (for cap decisions)
+    private final Array<EffectType>[] typesByLayer;
+
+    private final int maxLive;
+    private final int softCap;
+    private int liveCount;
+    private int droppedCount;
+
+    /**
+     * @param assetManager The game's Asset_Manager (owns the effect templates).
+     */
+    public Effects_Manager(Asset_Manager assetManager) {
+        this(assetManager, DEFAULT_MAX_LIVE_EFFECTS);
+    }
+
+    /**
+     * @param assetManager The game's Asset_Manager (owns the effect templates).
+     * @param maxLive Maximum number of effects alive at once.
+     */
+    @SuppressWarnings("unchecked")
+    public Effects_Manager(Asset_Manager assetManager, int maxLive) {
+        this.assetManager = assetManager;
+        this.maxLive = maxLive;
+        this.softCap = maxLive * 3 / 4;
+        this.types = new HashMap<String, EffectType>();
+
+        liveByLayer = new Array[ScreenScaler_Manager.MAX_LAYER + 1];
+        typesByLayer = new Array[ScreenScaler_Manager.MAX_LAYER + 1];
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            // Sized for the cap so adding never grows the backing array
+            liveByLayer[layer] = new Array<PooledEffect>(false, maxLive);
+            typesByLayer[layer] = new Array<EffectType>(false, maxLive);
+        }
+    }
+
+    /**
+     * Registers an effect type. Pools are built later by createPools(),
+     * once the effect's asset scope is loaded.
+     * @param type The name used in spawn() (e.g., "hit").
+     * @param effectKey The logical effect key in Asset_Manager (e.g., "explosion").
+     * @param layer The rendering layer ID (1-10) to draw this effect in.
+     * @param poolSize Number of instances created up front (expected peak per turn).
+     * @param priority Importance when the cap is reached (PRIORITY_COSMETIC is dropped first).
+     */
+    public void registerEffect(String type, String effectKey, int layer, int poolSize, int priority) {
+        if (layer < ScreenScaler_Manager.MIN_LAYER || layer > ScreenScaler_Manager.MAX_LAYER) {
+            Gdx.app.error(TAG, "Effect registered with invalid layer: " + layer +
+                ". Layer must be between " + ScreenScaler_Manager.MIN_LAYER + " and " + ScreenScaler_Manager.MAX_LAYER + ".");
+            return;
+        }
+        types.put(type, new EffectType(effectKey, layer, poolSize, priority));
+    }
+
+    /**
+     * Builds and pre-fills the pool of every registered type whose template is loaded.
+     * A pool built from a template that has since been reloaded is rebuilt.
+     * Call from the battle screen's preparation, after its asset scope has loaded.
+     */
+    public void createPools() {
+        for (EffectType type : types.values()) {
+            ParticleEffect template = assetManager.getParticleEffect(type.effectKey);
+            if (template == null) {
+                continue; // Error logged in Asset_Manager
+            }
+            if (type.pool != null) {
+                if (type.template == template) {
+                    continue;
+                }
+                dropPool(type);
+            }
+            type.template = template;
+            type.pool = new ParticleEffectPool(template, type.poolSize, maxLive);
+            type.pool.fill(type.poolSize);
+            Gdx.app.log(TAG, "Created pool for '" + type.effectKey + "' (" + type.poolSize + " instances)");
+        }
+    }
+
+    /**
+     * Starts an effect at a virtual-space position.
+     * @param type The registered type name.
+     * @param posX The X position in virtual (1920x1080) units.
+     * @param posY The Y position in virtual (1920x1080) units.
+     * @return True if the effect was spawned, false if dropped by the cap.
+     */
+    public boolean spawn(String type, float posX, float posY) {
+        EffectType effectType = types.get(type);
+        if (effectType == null) {
+            Gdx.app.error(TAG, "Unknown effect type: " + type);
+            return false;
+        }
+        if (effectType.pool == null) {
+            return false; // Template not loaded yet
+        }
+
+        // Past the soft cap, cosmetic effects are skipped
+        if (liveCount >= softCap && effectType.priority <= PRIORITY_COSMETIC) {
+            droppedCount++;
+            return false;
+        }
+        // At the hard cap, replace a less important effect or drop this one
+        if (liveCount >= maxLive && !freeLowerPriority(effectType.priority)) {
+            droppedCount++;
+            return false;
+        }
+
+        PooledEffect effect = effectType.pool.obtain();
+        effect.setPosition(posX, posY);
+        effect.start();
+        liveByLayer[effectType.layer].add(effect);
+        typesByLayer[effectType.layer].add(effectType);
+        liveCount++;
+        return true;
+    }
+
+    /**
+     * Frees the live effect with the lowest priority below the given one.
+     * @return True if an effect was freed.
+     */
+    private boolean freeLowerPriority(int priority) {
+        int bestLayer = -1;
+        int bestIndex = -1;
+        int bestPriority = priority;
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            Array<EffectType> layerTypes = typesByLayer[layer];
+            for (int i = 0; i < layerTypes.size; i++) {
+                if (layerTypes.get(i).priority < bestPriority) {
+                    bestPriority = layerTypes.get(i).priority;
+                    bestLayer = layer;
+                    bestIndex = i;
+                }
+            }
+        }
+        if (bestLayer == -1) {
+            return false;
+        }
+        freeAt(bestLayer, bestIndex);
+        return true;
+    }
+
+    private void freeAt(int layer, int index) {
+        // Arrays are unordered: removeIndex swaps in the last element, no copying
+        liveByLayer[layer].removeIndex(index).free();
+        typesByLayer[layer].removeIndex(index);
+        liveCount--;
+    }
+
+    /**
+     * Advances all live effects and recycles the ones that finished.
+     * @param delta Time since the last frame, in seconds.
+     */
+    public void update(float delta) {
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            Array<PooledEffect> live = liveByLayer[layer];
+            for (int i = live.size - 1; i >= 0; i--) {
+                PooledEffect effect = live.get(i);
+                effect.update(delta);
+                if (effect.isComplete()) {
+                    freeAt(layer, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the live effects of one layer.
+     * Call while iterating ScreenScaler_Manager.getSortedLayerKeys(), inside batch.begin()/end().
+     * @param batch The batch (set for virtual-space).
+     * @param layer The layer ID (1-10) being drawn.
+     */
+    public void draw(Batch batch, int layer) {
+        if (layer < ScreenScaler_Manager.MIN_LAYER || layer > ScreenScaler_Manager.MAX_LAYER) {
+            return;
+        }
+        Array<PooledEffect> live = liveByLayer[layer];
+        for (int i = 0; i < live.size; i++) {
+            live.get(i).draw(batch);
+        }
+    }
+
+    /**
+     * @param layer The layer ID (1-10).
+     * @return True if the layer has live effects (the layer may have no ScalableElements).
+     */
+    public boolean hasEffects(int layer) {
+        return layer >= ScreenScaler_Manager.MIN_LAYER && layer <= ScreenScaler_Manager.MAX_LAYER
+            && liveByLayer[layer].size > 0;
+    }
+
+    /**
+     * @return Number of effects currently alive.
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * @return Number of spawns dropped by the cap since the last reset.
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns every live effect to its pool. Pools are kept.
+     */
+    public void clear() {
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            for (int i = liveByLayer[layer].size - 1; i >= 0; i--) {
+                freeAt(layer, i);
+            }
+        }
+        droppedCount = 0;
+    }
+
+    /**
+     * Drops the pools built from the effects of an asset scope, before the scope is released.
+     * Center calls this on every screen change, so pools never outlive their templates' textures.
+     * @param scope The scope about to be released.
+     */
+    public void releasePools(Asset_Scope scope) {
+        List<String> effectKeys = scope.getEffectKeys();
+        if (effectKeys.isEmpty()) {
+            return;
+        }
+        for (EffectType type : types.values()) {
+            if (type.pool != null && effectKeys.contains(type.effectKey)) {
+                dropPool(type);
+            }
+        }
+    }
+
+    // Frees the type's live effects, then discards its pool
+    private void dropPool(EffectType type) {
+        for (int layer = ScreenScaler_Manager.MIN_LAYER; layer <= ScreenScaler_Manager.MAX_LAYER; layer++) {
+            Array<EffectType> liveTypes = typesByLayer[layer];
+            for (int i = liveTypes.size - 1; i >= 0; i--) {
+                if (liveTypes.get(i) == type) {
+                    freeAt(layer, i);
+                }
+            }
+        }
+        type.pool.clear();
+        type.pool = null;
+        type.template = null;
+    }
+
+    /**
+     * Frees live effects and drops all pools.
+     * Called by Center when the game closes; screen changes use releasePools().
+     * Does not dispose the templates, as Asset_Manager owns them.
+     */
+    @Override
+    public void dispose() {
+        clear();
+        for (EffectType type : types.values()) {
+            if (type.pool != null) {
+                type.pool.clear();
+                type.pool = null;
+                type.template = null;
+            }
+        }
+    }
+}
@@ -4,29 +4,50 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 // import com.badlogic.gdx.math.Vector2; // No longer needed
 import com.badlogic.gdx.utils.Disposable;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages font generation, caching, and drawing.
  * Integrates with Asset_Manager and ScreenScaler_Manager.
  * All sizes and positions are relative to the virtual 1920x1080 resolution.
+ * <p>
+ * Fonts are rasterized at their on-screen pixel size (virtual size times the
+ * viewport scale) and drawn scaled back to virtual units, so glyphs stay sharp at
+ * high resolutions and small windows do not hold oversized glyph textures.
+ * After a resize the fonts are regenerated once the window has settled.
  */
 public class Font_Manager implements Disposable {
 
     private static final String TAG = "Font_Manager";
     private static final String FONT_KEY = "Operator"; // Logical key from Asset_Manager
+    // Seconds without a resize before fonts are regenerated at the new scale
+    private static final float RESCALE_DELAY = 0.25f;
 
     private final ScreenScaler_Manager scaler;
     private final FreeTypeFontGenerator operatorGenerator;
 
-    // Caches generated BitmapFonts by their virtual (1920x1080) size
+    // Caches generated BitmapFonts by their physical (pixel) size
     private final Map<Integer, BitmapFont> fontCache;
+    // Virtual sizes requested since the last rescale; only these are regenerated
+    private final Set<Integer> usedVirtualSizes;
+
+    // Physical pixels per virtual unit the cached fonts were generated for
+    private float pixelScale;
+    // Scale from the latest resize, applied once rescaleTimer runs out
+    private float pendingScale;
+    private float rescaleTimer;
+    // Scratch color for queue(); the font cache's color object is mutated in place
+    private final Color savedColor = new Color();
 
     /**
      * Initializes the Font Manager.
@@ -37,6 +58,9 @@ public class Font_Manager implements Disposable {
         this.scaler = scaler;
         this.operatorGenerator = assetManager.getFontGenerator(FONT_KEY);
         this.fontCache = new HashMap<Integer, BitmapFont>();
+        this.usedVirtualSizes = new HashSet<Integer>();
+        this.pixelScale = computePixelScale();
+        this.rescaleTimer = -1f;
 
         if (this.operatorGenerator == null) {
             Gdx.app.error(TAG, "Failed to load 'Operator' font generator from Asset_Manager.");
@@ -44,7 +68,104 @@ public class Font_Manager implements Disposable {
     }
 
     /**
-     * Retrieves a cached BitmapFont for a specific *virtual* size.
+     * Physical pixels per virtual unit: the viewport scale, times the back buffer
+     * density on HiDPI displays where window and pixel sizes differ.
+     */
+    private float computePixelScale() {
+        float scale = scaler.getScale();
+        if (Gdx.graphics.getWidth() > 0) {
+            scale *= Gdx.graphics.getBackBufferWidth() / (float) Gdx.graphics.getWidth();
+        }
+        return scale > 0f ? scale : 1f;
+    }
+
+    private int toPhysicalSize(int virtualSize) {
+        return Math.max(1, Math.round(virtualSize * pixelScale));
+    }
+
+    /**
+     * Schedules font regeneration for a new window size.
+     * Must be called from the main game's resize() method, after ScreenScaler_Manager.resize().
+     * Until the window has settled, the current fonts are drawn scaled to the new size.
+     * @param screenWidth The new screen width.
+     * @param screenHeight The new screen height.
+     */
+    public void resize(int screenWidth, int screenHeight) {
+        if (screenWidth <= 0 || screenHeight <= 0) {
+            return; // Minimized; keep the current fonts
+        }
+
+        float scale = computePixelScale();
+        if (fontCache.isEmpty()) {
+            // Nothing generated yet, so nothing to debounce
+            pixelScale = scale;
+            rescaleTimer = -1f;
+        } else if (scale == pixelScale) {
+            rescaleTimer = -1f; // Back to the size the fonts were made for
+        } else {
+            pendingScale = scale;
+            rescaleTimer = RESCALE_DELAY;
+        }
+    }
+
+    /**
+     * Regenerates the fonts once no resize happened for RESCALE_DELAY seconds.
+     * Call once per frame from the main game's render() method.
+     * @param delta Time since the last frame in seconds.
+     */
+    public void update(float delta) {
+        if (rescaleTimer < 0f) {
+            return;
+        }
+        rescaleTimer -= delta;
+        if (rescaleTimer < 0f) {
+            applyRescale();
+        }
+    }
+
+    /**
+     * @return True while fonts are waiting to be regenerated (keep frames coming until then).
+     */
+    public boolean isRescalePending() {
+        return rescaleTimer >= 0f;
+    }
+
+    /**
+     * Switches to the pending scale: releases every cached font, then regenerates
+     * the virtual sizes used since the last rescale. Sizes no screen asked for in
+     * that time are not regenerated.
+     */
+    private void applyRescale() {
+        pixelScale = pendingScale;
+
+        Set<Integer> neededSizes = new HashSet<Integer>();
+        for (Integer virtualSize : usedVirtualSizes) {
+            neededSizes.add(toPhysicalSize(virtualSize));
+        }
+
+        int released = 0;
+        Iterator<Map.Entry<Integer, BitmapFont>> iterator = fontCache.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, BitmapFont> entry = iterator.next();
+            if (!neededSizes.contains(entry.getKey())) {
+                entry.getValue().dispose();
+                iterator.remove();
+                released++;
+            }
+        }
+
+        Integer[] virtualSizes = usedVirtualSizes.toArray(new Integer[0]);
+        usedVirtualSizes.clear();
+        for (Integer virtualSize : virtualSizes) {
+            getFont(virtualSize); // Re-registers the size and generates it if missing
+        }
+        Gdx.app.log(TAG, "Rescaled fonts to " + pixelScale + " px/unit: " + fontCache.size()
+            + " sizes cached, " + released + " released");
+    }
+
+    /**
+     * Retrieves a BitmapFont for a specific *virtual* size, generated at the
+     * matching physical pixel size and scaled so it draws at the virtual size.
      * If not cached, generates and caches it.
      * @param virtualSize The target font size in virtual (1920x1080) units.
      * @return The BitmapFont, or null if generation fails.
@@ -59,29 +180,45 @@ public class Font_Manager implements Disposable {
             return null; // Generator failed to load in constructor
         }
 
+        usedVirtualSizes.add(virtualSize);
+        int physicalSize = toPhysicalSize(virtualSize);
+
         // Check cache
-        if (fontCache.containsKey(virtualSize)) {
-            return fontCache.get(virtualSize);
+        BitmapFont font = fontCache.get(physicalSize);
+        if (font != null) {
+            // Several virtual sizes can share one physical size, so set the scale per request
+            font.getData().setScale(virtualSize / (float) physicalSize);
+            return font;
         }
 
         // Not cached, generate new font
-        Gdx.app.log(TAG, "Generating 'Operator' font at size " + virtualSize + " units");
+        Gdx.app.log(TAG, "Generating 'Operator' font at size " + virtualSize + " units (" + physicalSize + " px)");
 
         FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = virtualSize;
-        parameter.minFilter = Texture.TextureFilter.Linear; // For smooth scaling
+        parameter.size = physicalSize;
+        parameter.minFilter = Texture.TextureFilter.Linear; // Smooth while drawn off-size during a resize
         parameter.magFilter = Texture.TextureFilter.Linear;
 
         try {
             BitmapFont newFont = operatorGenerator.generateFont(parameter);
-            fontCache.put(virtualSize, newFont);
+            newFont.getData().setScale(virtualSize / (float) physicalSize);
+            fontCache.put(physicalSize, newFont);
             return newFont;
         } catch (Exception e) {
-            Gdx.app.error(TAG, "Failed to generate font at size " + virtualSize, e);
+            Gdx.app.error(TAG, "Failed to generate font at size " + physicalSize + " px", e);
             return null;
         }
     }
 
+    /**
+     * Generates and caches a font size ahead of its first draw.
+     * Screens call this while preparing, so glyph rasterization does not hitch the first frame.
+     * @param size The font size in virtual (1920x1080) units.
+     */
+    public void prewarm(float size) {
+        getFont(Math.round(size));
+    }
+
     /**
      * Draws text in virtual-space coordinates.
      * Assumes the SpriteBatch projection matrix is set to scaler.getCamera().combined.
@@ -111,6 +248,35 @@ public class Font_Manager implements Disposable {
         font.setColor(oldColor);
     }
 
+    /**
+     * Queues text on a DrawQueue_Manager layer instead of drawing it immediately,
+     * so its glyphs can be batched with other quads using the same font page.
+     *
+     * @param queue The draw queue.
+     * @param layer The rendering layer ID (1-10).
+     * @param text The text to draw.
+     * @param color The color of the text.
+     * @param size The font size in virtual (1920x1080) units.
+     * @param posX The X position in virtual (1920x1080) units.
+     * @param posY The Y position in virtual (1920x1080) units.
+     */
+    public void queue(DrawQueue_Manager queue, int layer, String text, Color color, float size, float posX, float posY) {
+        BitmapFont font = getFont(Math.round(size));
+        if (font == null) {
+            return; // Error logged in getFont
+        }
+
+        // Lay out into the font's own cache, copy the glyphs, then leave it as found
+        BitmapFontCache cache = font.getCache();
+        savedColor.set(cache.getColor());
+        cache.clear();
+        cache.setColor(color);
+        cache.setText(text, posX, posY);
+        queue.drawText(layer, cache);
+        cache.clear();
+        cache.setColor(savedColor);
+    }
+
     /**
      * Disposes all cached BitmapFont instances.
      * Does not dispose the generator, as Asset_Manager owns it.
@@ -122,5 +288,6 @@ public class Font_Manager implements Disposable {
             font.dispose();
         }
         fontCache.clear();
+        usedVirtualSizes.clear();
     }
 }
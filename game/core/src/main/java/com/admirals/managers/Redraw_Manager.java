@@ -0,0 +1,119 @@
+package com.admirals.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Drives on-demand rendering.
+ * With continuous rendering off, a frame is only drawn when something requests it.
+ * The backend already requests frames for input and window events, and after
+ * running Gdx.app.postRunnable() tasks (the way network messages reach the game).
+ * This manager requests the rest: layer changes in ScreenScaler_Manager, running
+ * animations, busy systems (loading, transitions, effects), and a low-rate
+ * heartbeat for on-screen timers.
+ */
+public class Redraw_Manager implements Disposable {
+
+    private static final String TAG = "Redraw_Manager";
+
+    // Interval of the heartbeat frame, in seconds
+    public static final float DEFAULT_HEARTBEAT_SECONDS = 1f;
+
+    private final ScreenScaler_Manager scaler;
+    private final Timer heartbeatTimer;
+    private final Timer.Task heartbeatTask;
+
+    private boolean onDemand;
+    // Number of running animations; frames are requested while above zero
+    private int activeAnimations;
+
+    /**
+     * @param scaler The game's ScreenScaler_Manager (source of layer changes).
+     */
+    public Redraw_Manager(ScreenScaler_Manager scaler) {
+        this.scaler = scaler;
+        this.heartbeatTimer = new Timer();
+        this.heartbeatTask = new Timer.Task() {
+            @Override
+            public void run() {
+                Gdx.graphics.requestRendering();
+            }
+        };
+    }
+
+    /**
+     * Switches between on-demand and continuous rendering.
+     * @param enabled True to draw frames only when requested.
+     */
+    public void setOnDemand(boolean enabled) {
+        onDemand = enabled;
+        Gdx.graphics.setContinuousRendering(!enabled);
+
+        heartbeatTask.cancel();
+        if (enabled) {
+            heartbeatTimer.scheduleTask(heartbeatTask, DEFAULT_HEARTBEAT_SECONDS, DEFAULT_HEARTBEAT_SECONDS);
+        }
+        Gdx.graphics.requestRendering();
+        Gdx.app.log(TAG, enabled ? "On-demand rendering enabled." : "Continuous rendering enabled.");
+    }
+
+    /**
+     * @return True if frames are only drawn when requested.
+     */
+    public boolean isOnDemand() {
+        return onDemand;
+    }
+
+    /**
+     * Requests one frame. Safe to call from any thread (e.g., a network listener).
+     */
+    public void requestRender() {
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Marks the start of an animation; frames are drawn every refresh until it ends.
+     * Every call must be paired with endAnimation().
+     */
+    public void beginAnimation() {
+        activeAnimations++;
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Marks the end of an animation started with beginAnimation().
+     */
+    public void endAnimation() {
+        if (activeAnimations == 0) {
+            Gdx.app.error(TAG, "endAnimation() called without matching beginAnimation().");
+            return;
+        }
+        activeAnimations--;
+    }
+
+    /**
+     * Decides whether the frame just drawn needs a follow-up.
+     * Must be called at the end of every render().
+     * @param busy True if a system still changes the picture on its own
+     *             (assets loading, transition running, effects alive).
+     */
+    public void endFrame(boolean busy) {
+        if (!onDemand) {
+            return;
+        }
+        // consumeDirty() first so the flag is cleared every frame
+        if (scaler.consumeDirty() || busy || activeAnimations > 0) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Stops the heartbeat.
+     */
+    @Override
+    public void dispose() {
+        heartbeatTimer.clear();
+        heartbeatTimer.stop();
+    }
+}
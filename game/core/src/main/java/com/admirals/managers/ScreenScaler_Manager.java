@@ -48,6 +48,8 @@ public class ScreenScaler_Manager {
     private final Map<Integer, List<ScalableElement>> layerMap;
     // Cached list of sorted layer keys for ordered rendering
     private final List<Integer> sortedLayerKeys;
+    // Set whenever layer content or the viewport changes (drives on-demand rendering)
+    private boolean dirty;
 
     /**
      * Initializes the camera and viewport for a 1920x1080 virtual resolution.
@@ -57,6 +59,7 @@ public class ScreenScaler_Manager {
         viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
         layerMap = new HashMap<Integer, List<ScalableElement>>();
         sortedLayerKeys = new ArrayList<Integer>();
+        dirty = true;
     }
 
     /**
@@ -89,6 +92,7 @@ public class ScreenScaler_Manager {
             }
         }
         list.add(element);
+        dirty = true;
     }
 
     /**
@@ -114,9 +118,28 @@ public class ScreenScaler_Manager {
                 layerMap.remove(layer);
                 sortedLayerKeys.remove(Integer.valueOf(layer)); // Remove by object, not index
             }
+            dirty = true;
         }
     }
 
+    /**
+     * Flags the layers as changed so the next frame is drawn.
+     * Elements call this when they move or change appearance.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Returns whether anything changed since the last call, and clears the flag.
+     * @return True if layers or the viewport changed.
+     */
+    public boolean consumeDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
     /**
      * Updates the viewport and camera on window resize.
      * This method must be called from the main game's resize() method.
@@ -126,6 +149,7 @@ public class ScreenScaler_Manager {
     public void resize(int screenWidth, int screenHeight) {
         // Update the viewport, which applies scaling and letterboxing
         viewport.update(screenWidth, screenHeight, true);
+        dirty = true;
     }
 
     /**
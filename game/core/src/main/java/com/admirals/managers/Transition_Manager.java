@@ -0,0 +1,303 @@
+package com.admirals.managers;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Runs prepared screen transitions.
+ * The next screen is prepared (assets, font pre-warm, layout) while the current
+ * screen keeps rendering. Once it reports ready, the last frame of the current
+ * screen is captured into a FrameBuffer, the screens are swapped, and the
+ * snapshot is faded out over the new screen.
+ * A transition requested during a fade starts preparing right away and swaps
+ * once the running fade has finished.
+ */
+public class Transition_Manager implements Disposable {
+
+    /**
+     * Screens that need work before their first frame implement this interface.
+     * Screens without it are ready as soon as their asset scope is loaded.
+     */
+    public interface PreparableScreen {
+        /**
+         * Called once per frame while the screen waits to be shown.
+         * Do a small slice of work per call (one font size, one board row, ...).
+         * @return True once the screen is ready to render its first frame.
+         */
+        boolean prepare();
+    }
+
+    private enum State { IDLE, PREPARING, FADING }
+
+    private static final String TAG = "Transition_Manager";
+
+    // Default cross-fade duration, in seconds
+    public static final float DEFAULT_FADE_DURATION = 0.35f;
+
+    private final Game game;
+    private final Asset_Manager assetManager;
+    private final ScreenScaler_Manager scaler;
+    private final SpriteBatch batch;
+
+    // Full-resolution snapshot of the outgoing screen's last frame
+    private FrameBuffer snapshot;
+    private final Matrix4 screenProjection;
+
+    private State state;
+    // Screen being prepared (or waiting for the running fade to finish)
+    private Screen target;
+    private float targetFadeDuration;
+    private float fadeDuration;
+    private float fadeElapsed;
+
+    /**
+     * @param game The game whose screens are swapped.
+     * @param assetManager The game's Asset_Manager (loads the target's scope early).
+     * @param scaler The game's ScreenScaler_Manager (restores the viewport after FrameBuffer use).
+     * @param batch The shared SpriteBatch.
+     */
+    public Transition_Manager(Game game, Asset_Manager assetManager, ScreenScaler_Manager scaler, SpriteBatch batch) {
+        this.game = game;
+        this.assetManager = assetManager;
+        this.scaler = scaler;
+        this.batch = batch;
+        this.screenProjection = new Matrix4();
+        this.state = State.IDLE;
+    }
+
+    /**
+     * Starts preparing a screen and cross-fades to it once it is ready.
+     * @param next The screen to show.
+     */
+    public void transitionTo(Screen next) {
+        transitionTo(next, DEFAULT_FADE_DURATION);
+    }
+
+    /**
+     * Starts preparing a screen and cross-fades to it once it is ready.
+     * A running fade is finished first; a screen still waiting to be shown is replaced (and disposed).
+     * @param next The screen to show.
+     * @param duration The cross-fade duration in seconds (0 swaps without fading).
+     */
+    public void transitionTo(Screen next, float duration) {
+        if (next == null) {
+            Gdx.app.error(TAG, "Cannot transition to a null screen.");
+            return;
+        }
+        if (next == target) {
+            return; // Already on its way
+        }
+        if (next == game.getScreen()) {
+            // Cancelling it later would release the shown screen's scope and dispose it
+            Gdx.app.error(TAG, "Cannot transition to the current screen.");
+            return;
+        }
+
+        if (target != null) {
+            cancelPreparation();
+        }
+
+        target = next;
+        targetFadeDuration = Math.max(0f, duration);
+        if (state == State.IDLE) {
+            state = State.PREPARING;
+        }
+
+        // Start loading the target's assets in the background right away
+        if (next instanceof Asset_Manager.ScopedScreen) {
+            Asset_Scope scope = ((Asset_Manager.ScopedScreen) next).getAssetScope();
+            if (!assetManager.isScopeAcquired(scope)) {
+                assetManager.acquireScope(scope);
+            }
+        }
+        Gdx.app.log(TAG, "Preparing " + next.getClass().getSimpleName());
+    }
+
+    /**
+     * Drops a pending transition because a screen is being set directly.
+     * Called by Center.setScreen(); does nothing for the swap this manager performs itself.
+     * @param replacement The screen being set (kept alive if it is the pending target).
+     */
+    public void cancel(Screen replacement) {
+        if (target == null) {
+            return;
+        }
+        if (target == replacement) {
+            // Shown early; its scope moves over to the caller
+            target = null;
+        } else {
+            cancelPreparation();
+        }
+        if (state == State.PREPARING) {
+            state = State.IDLE;
+        }
+    }
+
+    /**
+     * @return True while a transition is preparing or fading.
+     */
+    public boolean isActive() {
+        return state != State.IDLE;
+    }
+
+    /**
+     * Renders one frame of the transition. Called by Center instead of the screen's render.
+     * @param delta Time since the last frame, in seconds.
+     */
+    public void render(float delta) {
+        if (state == State.PREPARING) {
+            renderPreparing(delta);
+        } else if (state == State.FADING) {
+            renderFading(delta);
+        }
+    }
+
+    private void renderPreparing(float delta) {
+        Screen current = game.getScreen();
+
+        // Allocate the snapshot while waiting, never on the swap frame
+        boolean allocated = targetFadeDuration > 0f && current != null && ensureSnapshot();
+        if (!isTargetReady() || allocated) {
+            // Keep the current screen running while the target prepares
+            if (current != null) {
+                current.render(delta);
+            }
+            return;
+        }
+
+        fadeDuration = targetFadeDuration;
+        fadeElapsed = 0f;
+        if (current == null || fadeDuration <= 0f) {
+            swap();
+            state = State.IDLE;
+            game.getScreen().render(delta);
+            return;
+        }
+
+        // Render the current screen's last frame into the snapshot, then show it
+        captureSnapshot(current, delta);
+        drawSnapshot(1f);
+
+        swap();
+        state = State.FADING;
+    }
+
+    private void renderFading(float delta) {
+        fadeElapsed += delta;
+        float progress = Math.min(1f, fadeElapsed / fadeDuration);
+
+        // New screen draws normally, the snapshot fades out on top of it
+        game.getScreen().render(delta);
+        drawSnapshot(1f - progress);
+
+        if (progress >= 1f) {
+            // A transition requested during the fade prepares next
+            state = (target != null) ? State.PREPARING : State.IDLE;
+        }
+    }
+
+    /**
+     * The target is ready when its scope is loaded and its own preparation is done.
+     * prepare() is only called once assets are available, so it can use them.
+     */
+    private boolean isTargetReady() {
+        if (target instanceof Asset_Manager.ScopedScreen
+            && !assetManager.isScopeLoaded(((Asset_Manager.ScopedScreen) target).getAssetScope())) {
+            return false;
+        }
+        if (target instanceof PreparableScreen) {
+            return ((PreparableScreen) target).prepare();
+        }
+        return true;
+    }
+
+    private void swap() {
+        Screen next = target;
+        target = null;
+        game.setScreen(next);
+        Gdx.app.log(TAG, "Switched to " + next.getClass().getSimpleName());
+    }
+
+    private void cancelPreparation() {
+        if (target instanceof Asset_Manager.ScopedScreen) {
+            Asset_Scope scope = ((Asset_Manager.ScopedScreen) target).getAssetScope();
+            if (assetManager.isScopeAcquired(scope)) {
+                assetManager.releaseScope(scope);
+            }
+        }
+        Gdx.app.log(TAG, "Cancelled transition to " + target.getClass().getSimpleName());
+        // Never shown, so Game will not dispose it
+        target.dispose();
+        target = null;
+    }
+
+    /**
+     * Creates the snapshot FrameBuffer, or recreates it if the window size changed.
+     * @return True if a FrameBuffer was allocated.
+     */
+    private boolean ensureSnapshot() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (snapshot != null && snapshot.getWidth() == width && snapshot.getHeight() == height) {
+            return false;
+        }
+        if (snapshot != null) {
+            snapshot.dispose();
+        }
+        snapshot = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        return true;
+    }
+
+    private void captureSnapshot(Screen current, float delta) {
+        // Normally allocated while preparing; only a resize on the swap frame lands here
+        ensureSnapshot();
+
+        snapshot.begin();
+        // FrameBuffer.begin() resets the GL viewport; screens expect the letterboxed one
+        scaler.getViewport().apply();
+        current.render(delta);
+        snapshot.end();
+    }
+
+    private void drawSnapshot(float alpha) {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+
+        // Cover the whole window, including letterbox bars
+        Gdx.gl.glViewport(0, 0, width, height);
+        screenProjection.setToOrtho2D(0, 0, width, height);
+        batch.setProjectionMatrix(screenProjection);
+
+        Texture texture = snapshot.getColorBufferTexture();
+        batch.begin();
+        batch.setColor(1f, 1f, 1f, alpha);
+        // FrameBuffer textures are stored upside down
+        batch.draw(texture, 0, 0, width, height, 0, 0, texture.getWidth(), texture.getHeight(), false, true);
+        batch.setColor(1f, 1f, 1f, 1f);
+        batch.end();
+
+        scaler.getViewport().apply();
+    }
+
+    /**
+     * Releases the snapshot FrameBuffer and disposes any pending target.
+     */
+    @Override
+    public void dispose() {
+        if (target != null) {
+            cancelPreparation();
+        }
+        state = State.IDLE;
+        if (snapshot != null) {
+            snapshot.dispose();
+            snapshot = null;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.admirals.screens;
 
 import com.admirals.Center;
+import com.admirals.managers.Asset_Manager;
+import com.admirals.managers.Asset_Scope;
 import com.admirals.managers.ScreenScaler_Manager;
+import com.admirals.managers.Transition_Manager;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.ScreenUtils;
@@ -10,10 +13,13 @@ import com.badlogic.gdx.utils.ScreenUtils;
  * First screen of the application.
  * Renders test output using the manager pipeline.
  */
-public class MainMenu_Screen implements Screen {
+public class MainMenu_Screen implements Screen, Asset_Manager.ScopedScreen, Transition_Manager.PreparableScreen {
+
+    private static final float TITLE_SIZE = 60f;
 
     private final Center game;
     private final ScreenScaler_Manager scaler;
+    private final Asset_Scope assetScope;
 
     /**
      * Constructor.
@@ -22,6 +28,21 @@ public class MainMenu_Screen implements Screen {
     public MainMenu_Screen(Center game) {
         this.game = game;
         this.scaler = game.screenScalerManager;
+
+        // Menu only uses the global font for now
+        this.assetScope = new Asset_Scope("MainMenu");
+    }
+
+    @Override
+    public Asset_Scope getAssetScope() {
+        return assetScope;
+    }
+
+    @Override
+    public boolean prepare() {
+        // Generate the title font before the first frame
+        game.fontManager.prewarm(TITLE_SIZE);
+        return true;
     }
 
     @Override
@@ -42,7 +63,7 @@ public class MainMenu_Screen implements Screen {
         game.batch.begin();
 
         // Draw Text
-        game.fontManager.draw(game.batch, "Reporting Admiral", Color.WHITE, 60f, 100f, 1000f);
+        game.fontManager.draw(game.batch, "Reporting Admiral", Color.WHITE, TITLE_SIZE, 100f, 1000f);
 
         game.batch.end();
     }
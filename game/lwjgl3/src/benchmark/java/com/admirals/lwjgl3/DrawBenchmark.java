@@ -0,0 +1,24 @@
+package com.admirals.lwjgl3;
+
+import com.admirals.Center;
+import com.admirals.screens.DrawBenchmark_Screen;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+
+/**
+ * Center variant that opens DrawBenchmark_Screen instead of the main menu.
+ * Lives in the benchmark source set, so it is not part of the shipped jar;
+ * run it with the drawBenchmark task.
+ */
+public class DrawBenchmark extends Center {
+
+    public static void main(String[] args) {
+        if (StartupHelper.startNewJvmIfRequired()) return; // Handles macOS support
+        new Lwjgl3Application(new DrawBenchmark(), Lwjgl3Launcher.getDefaultConfiguration());
+    }
+
+    @Override
+    public void create() {
+        super.create();
+        setScreen(new DrawBenchmark_Screen(this));
+    }
+}
@@ -0,0 +1,227 @@
+package com.admirals.screens;
+
+import com.admirals.Center;
+import com.admirals.managers.DrawQueue_Manager;
+import com.admirals.managers.ScreenScaler_Manager;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Benchmark for DrawQueue_Manager.
+ * Draws a busy battle scene (two 10x10 boards with ship, hit/miss markers,
+ * coordinate labels and UI panels interleaved across layers), alternating between
+ * immediate SpriteBatch drawing and the texture-sorted queue.
+ * The immediate baseline walks the scene once per layer, so both modes produce the
+ * same layering and only the texture ordering within a layer differs.
+ * Logs average flushes, GL draw calls and texture binds per frame for both, then exits.
+ * Lives in the benchmark source set; run it with the drawBenchmark task.
+ */
+public class DrawBenchmark_Screen implements Screen {
+
+    private static final String TAG = "DrawBenchmark_Screen";
+
+    private static final int WARMUP_FRAMES = 30;
+    private static final int MEASURED_FRAMES = 300;
+    private static final int ROUNDS = 2;
+
+    private static final int BOARD_SIZE = 10;
+    private static final float CELL = 64f;
+    private static final float LABEL_SIZE = 20f;
+
+    // Layers used by the scene, in drawing order
+    private static final int LAYER_BOARD = 2;
+    private static final int LAYER_MARKERS = 3;
+    private static final int LAYER_UI = 8;
+    private static final int[] LAYERS = {LAYER_BOARD, LAYER_MARKERS, LAYER_UI};
+
+    private final Center game;
+    private final ScreenScaler_Manager scaler;
+    private final DrawQueue_Manager queue;
+    private final GLProfiler profiler;
+
+    private Texture waterTexture;
+    private Texture shipTexture;
+    private Texture markerTexture;
+    private Texture panelTexture;
+    private TextureRegion water;
+    private TextureRegion ship;
+    private TextureRegion marker;
+    private TextureRegion panel;
+
+    // Benchmark state: even rounds immediate, odd rounds queued
+    private int round;
+    // Layer drawn by the current immediate pass (ignored when queued)
+    private int immediateLayer;
+    private int frame;
+    private long flushes;
+    private long drawCalls;
+    private long textureBinds;
+
+    /**
+     * Constructor.
+     * @param game The main game instance (provides managers).
+     */
+    public DrawBenchmark_Screen(Center game) {
+        this.game = game;
+        this.scaler = game.screenScalerManager;
+        this.queue = game.drawQueue;
+        this.profiler = new GLProfiler(Gdx.graphics);
+    }
+
+    @Override
+    public void show() {
+        waterTexture = createTexture(new Color(0.1f, 0.3f, 0.6f, 1f));
+        shipTexture = createTexture(Color.GRAY);
+        markerTexture = createTexture(Color.RED);
+        panelTexture = createTexture(Color.DARK_GRAY);
+        water = new TextureRegion(waterTexture);
+        ship = new TextureRegion(shipTexture);
+        marker = new TextureRegion(markerTexture);
+        panel = new TextureRegion(panelTexture);
+
+        // Generate the label font before measuring
+        game.fontManager.prewarm(LABEL_SIZE);
+
+        profiler.enable();
+        game.redrawManager.beginAnimation();
+    }
+
+    private Texture createTexture(Color color) {
+        Pixmap pixmap = new Pixmap(32, 32, Pixmap.Format.RGBA8888);
+        pixmap.setColor(color);
+        pixmap.fill();
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+        return texture;
+    }
+
+    @Override
+    public void render(float delta) {
+        ScreenUtils.clear(0.05f, 0.05f, 0.1f, 1);
+
+        scaler.getCamera().update();
+        game.batch.setProjectionMatrix(scaler.getCamera().combined);
+
+        boolean queued = round % 2 == 1;
+        profiler.reset();
+
+        game.batch.begin();
+        if (queued) {
+            drawScene(true);
+            queue.flush(game.batch);
+        } else {
+            for (int layer : LAYERS) {
+                immediateLayer = layer;
+                drawScene(false);
+            }
+        }
+        game.batch.end();
+
+        if (frame >= WARMUP_FRAMES) {
+            flushes += game.batch.renderCalls;
+            drawCalls += profiler.getDrawCalls();
+            textureBinds += profiler.getTextureBindings();
+        }
+        frame++;
+
+        if (frame == WARMUP_FRAMES + MEASURED_FRAMES) {
+            Gdx.app.log(TAG, (queued ? "Queued   " : "Immediate") + " per frame: "
+                + "flushes " + (flushes / MEASURED_FRAMES)
+                + ", draw calls " + (drawCalls / MEASURED_FRAMES)
+                + ", texture binds " + (textureBinds / MEASURED_FRAMES));
+            frame = 0;
+            flushes = 0;
+            drawCalls = 0;
+            textureBinds = 0;
+            round++;
+            if (round == ROUNDS * 2) {
+                Gdx.app.exit();
+            }
+        }
+    }
+
+    /**
+     * Draws the scene cell by cell, in the order a naive battle screen would:
+     * water, ship, marker and coordinate label per cell, then a UI panel per board.
+     * When drawn immediately, only draws of immediateLayer are made, and
+     * consecutive draws within the board layer still switch texture.
+     */
+    private void drawScene(boolean queued) {
+        for (int board = 0; board < 2; board++) {
+            float originX = 160f + board * 880f;
+            float originY = 220f;
+
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                for (int col = 0; col < BOARD_SIZE; col++) {
+                    float x = originX + col * CELL;
+                    float y = originY + row * CELL;
+                    boolean hasShip = (row * 7 + col * 3 + board) % 5 == 0;
+                    boolean shot = (row * 3 + col * 5 + board) % 4 == 0;
+
+                    drawRegion(queued, LAYER_BOARD, water, x, y, CELL, CELL);
+                    if (hasShip) {
+                        drawRegion(queued, LAYER_BOARD, ship, x + 4f, y + 4f, CELL - 8f, CELL - 8f);
+                    }
+                    if (shot) {
+                        drawRegion(queued, LAYER_MARKERS, marker, x + 20f, y + 20f, CELL - 40f, CELL - 40f);
+                    }
+                    if (col == 0) {
+                        drawLabel(queued, Integer.toString(row + 1), x - 40f, y + 40f);
+                    }
+                }
+            }
+            drawRegion(queued, LAYER_UI, panel, originX, originY - 120f, BOARD_SIZE * CELL, 80f);
+            drawLabel(queued, board == 0 ? "Your Fleet" : "Enemy Waters", originX + 20f, originY - 60f);
+        }
+    }
+
+    private void drawRegion(boolean queued, int layer, TextureRegion region,
+                            float x, float y, float width, float height) {
+        if (queued) {
+            queue.draw(layer, region, Color.WHITE, x, y, width, height);
+        } else if (layer == immediateLayer) {
+            game.batch.draw(region, x, y, width, height);
+        }
+    }
+
+    private void drawLabel(boolean queued, String text, float x, float y) {
+        if (queued) {
+            game.fontManager.queue(queue, LAYER_UI, text, Color.WHITE, LABEL_SIZE, x, y);
+        } else if (immediateLayer == LAYER_UI) {
+            game.fontManager.draw(game.batch, text, Color.WHITE, LABEL_SIZE, x, y);
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        // Guard against minimized window
+        if (width <= 0 || height <= 0) return;
+        // The Center class already handled the scaler.resize() call.
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {
+        profiler.disable();
+        game.redrawManager.endAnimation();
+    }
+
+    @Override
+    public void dispose() {
+        waterTexture.dispose();
+        shipTexture.dispose();
+        markerTexture.dispose();
+        panelTexture.dispose();
+    }
+}
@@ -12,10 +12,13 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Center(), getDefaultConfiguration());
+        // The startup probe is selected by system property (see startup.gradle)
+        Center game = StartupProbe.isRequested() ? new StartupProbe() : new Center();
+        return new Lwjgl3Application(game, getDefaultConfiguration());
     }
 
-    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
+    // Package-private so the benchmark launcher (benchmark source set) opens the same window
+    static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("Admirals");
 
@@ -0,0 +1,47 @@
+package com.admirals.lwjgl3;
+
+import com.admirals.Center;
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Center variant used for the scripted startup training run and the startup benchmark.
+ * Prints {@link #FIRST_FRAME_MARKER} after the first frame, keeps rendering for a
+ * fixed number of frames so the usual render path gets loaded, then exits.
+ * Enabled by launching with {@code -Dadmirals.startupProbe=true}.
+ */
+public class StartupProbe extends Center {
+
+    /** System property that enables the probe. */
+    public static final String PROPERTY = "admirals.startupProbe";
+    /** Line printed to stdout once the first frame is drawn; the benchmark waits for it. */
+    public static final String FIRST_FRAME_MARKER = "ADMIRALS_FIRST_FRAME";
+
+    // About two seconds at 60 Hz; enough to reach steady-state rendering
+    private static final int TRAINING_FRAMES = 120;
+
+    private int frames;
+
+    /**
+     * @return Whether the probe was requested on the command line.
+     */
+    public static boolean isRequested() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    @Override
+    public void render() {
+        super.render();
+        frames++;
+
+        if (frames == 1) {
+            System.out.println(FIRST_FRAME_MARKER);
+            System.out.flush();
+        }
+        if (frames >= TRAINING_FRAMES) {
+            Gdx.app.exit();
+        } else {
+            // Rendering is on-demand; keep frames coming until the run ends
+            Gdx.graphics.requestRendering();
+        }
+    }
+}